@@ -0,0 +1,35 @@
+package io.leangen.graphql.spqr.spring.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares how long the result of the annotated resolver may be cached by HTTP caches.
+ * The hints of all the resolved fields are merged (the shortest max-age and the most restrictive scope win)
+ * into the {@code Cache-Control} header of GET responses. Root query fields without a hint make the response
+ * uncacheable, while nested fields without one inherit the policy of their parent.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface GraphQLCacheControl {
+
+    /**
+     * @return the number of seconds the result may be cached for
+     */
+    int maxAge();
+
+    Scope scope() default Scope.PUBLIC;
+
+    enum Scope {
+        /**
+         * Cacheable by shared caches, e.g. CDNs
+         */
+        PUBLIC,
+        /**
+         * Specific to the requesting user, cacheable only by the client itself
+         */
+        PRIVATE
+    }
+}
@@ -0,0 +1,31 @@
+package io.leangen.graphql.spqr.spring.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the results of the annotated resolver method in a Spring {@code Cache}, keyed by the method, the parent object,
+ * the GraphQL arguments and, optionally, a value from the operation's global context (e.g. the user's locale).
+ * Resolvers can thus share a cache without their results getting mixed up.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface GraphQLCached {
+
+    /**
+     * @return the name of the cache to use, as known to the {@code CacheManager}
+     */
+    String value();
+
+    /**
+     * @return the number of seconds a cached result stays valid (0 leaves expiration to the cache itself)
+     */
+    long ttlSeconds() default 0;
+
+    /**
+     * @return the name of the global context extension whose value is part of the cache key, if any
+     */
+    String contextKey() default "";
+}
@@ -1,7 +1,9 @@
 package io.leangen.graphql.spqr.spring.autoconfigure;
 
 import graphql.GraphQL;
+import graphql.schema.GraphQLCodeRegistry;
 import graphql.schema.GraphQLSchema;
+import graphql.schema.visibility.NoIntrospectionGraphqlFieldVisibility;
 import io.leangen.geantyref.GenericTypeReflector;
 import io.leangen.graphql.ExtendedGeneratorConfiguration;
 import io.leangen.graphql.ExtensionProvider;
@@ -28,6 +30,7 @@ import io.leangen.graphql.module.Module;
 import io.leangen.graphql.spqr.spring.annotations.GraphQLApi;
 import io.leangen.graphql.spqr.spring.annotations.WithResolverBuilder;
 import io.leangen.graphql.spqr.spring.annotations.WithResolverBuilders;
+import io.leangen.graphql.spqr.spring.web.IntrospectionCache;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
@@ -36,6 +39,7 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
@@ -261,11 +265,40 @@ public class BaseAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public GraphQL graphQL(GraphQLSchema schema) {
-        GraphQL.Builder builder = GraphQL.newGraphQL(schema);
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public GraphQL graphQL(GraphQLSchema schema, SpqrProperties spqrProperties, Optional<DocumentCache> documentCache) {
+        GraphQL.Builder builder = GraphQL.newGraphQL(spqrProperties.getIntrospection().isEnabled() ? schema : withoutIntrospection(schema));
+        documentCache.ifPresent(builder::preparsedDocumentProvider);
         return builder.build();
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "graphql.spqr.document-cache.enabled", havingValue = "true", matchIfMissing = true)
+    public DocumentCache documentCache(SpqrProperties spqrProperties) {
+        return new DocumentCache(spqrProperties.getDocumentCache().getMaxSize());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EntityCacheStats entityCacheStats() {
+        return new EntityCacheStats();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "graphql.spqr.introspection.enabled", havingValue = "true", matchIfMissing = true)
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public IntrospectionCache introspectionCache(SpqrProperties spqrProperties, Optional<DocumentCache> documentCache) {
+        return new IntrospectionCache(spqrProperties.getIntrospection().isCacheEnabled(), documentCache.orElse(null));
+    }
+
+    private static GraphQLSchema withoutIntrospection(GraphQLSchema schema) {
+        GraphQLCodeRegistry codeRegistry = schema.getCodeRegistry().transform(registry ->
+                registry.fieldVisibility(NoIntrospectionGraphqlFieldVisibility.NO_INTROSPECTION_FIELD_VISIBILITY));
+        return GraphQLSchema.newSchema(schema).codeRegistry(codeRegistry).build();
+    }
+
     private <T> T findQualifiedBeanByType(Class<? extends T> type, String qualifierValue, Class<? extends Annotation> qualifierType) {
         final NoSuchBeanDefinitionException noSuchBeanDefinitionException = new NoSuchBeanDefinitionException(qualifierValue, "No matching " + type.getSimpleName() +
                 " bean found for qualifier " + qualifierValue + " of type " + qualifierType.getSimpleName() + " !");
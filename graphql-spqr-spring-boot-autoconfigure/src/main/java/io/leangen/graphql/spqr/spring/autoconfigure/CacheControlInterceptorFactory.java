@@ -0,0 +1,68 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import io.leangen.graphql.execution.InvocationContext;
+import io.leangen.graphql.execution.ResolverInterceptor;
+import io.leangen.graphql.execution.ResolverInterceptorFactory;
+import io.leangen.graphql.execution.ResolverInterceptorFactoryParams;
+import io.leangen.graphql.metadata.OperationArgument;
+import io.leangen.graphql.metadata.Resolver;
+import io.leangen.graphql.metadata.execution.FixedMethodInvoker;
+import io.leangen.graphql.spqr.spring.annotations.GraphQLCacheControl;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the {@link GraphQLCacheControl} hints of the resolved fields into the operation's {@link CachePolicy}.
+ * Root query fields without a hint, as well as mutation and subscription fields, make the result uncacheable.
+ */
+public class CacheControlInterceptorFactory implements ResolverInterceptorFactory {
+
+    private static final List<ResolverInterceptor> ROOT_FIELD = Collections.singletonList(new CacheControlInterceptor(null));
+
+    @Override
+    public List<ResolverInterceptor> getInterceptors(ResolverInterceptorFactoryParams params) {
+        Resolver resolver = params.getResolver();
+        GraphQLCacheControl hint = resolver.getExecutable().getDelegate().getAnnotation(GraphQLCacheControl.class);
+        if (hint != null) {
+            return Collections.singletonList(new CacheControlInterceptor(hint));
+        }
+        //Only methods invoked on an operation source bean, and without a @GraphQLContext argument, can be attached to
+        //the root types. Resolvers invoked on the parent object (e.g. getters) are nested fields that can be skipped.
+        if (resolver.getExecutable() instanceof FixedMethodInvoker
+                && resolver.getArguments().stream().noneMatch(OperationArgument::isContext)) {
+            return ROOT_FIELD;
+        }
+        return Collections.emptyList();
+    }
+
+    private static class CacheControlInterceptor implements ResolverInterceptor {
+
+        private final GraphQLCacheControl hint;
+
+        CacheControlInterceptor(GraphQLCacheControl hint) {
+            this.hint = hint;
+        }
+
+        @Override
+        public Object aroundInvoke(InvocationContext context, Continuation continuation) throws Exception {
+            Object rootContext = context.getResolutionEnvironment().rootContext;
+            if (rootContext instanceof DefaultGlobalContext) {
+                DataFetchingEnvironment env = context.getResolutionEnvironment().dataFetchingEnvironment;
+                GraphQLSchema schema = env.getGraphQLSchema();
+                GraphQLType parentType = env.getParentType();
+                boolean query = parentType == schema.getQueryType();
+                boolean root = query || parentType == schema.getMutationType() || parentType == schema.getSubscriptionType();
+                if (hint != null && (query || !root)) {
+                    ((DefaultGlobalContext<?>) rootContext).restrictCachePolicy(hint.maxAge(), hint.scope() == GraphQLCacheControl.Scope.PRIVATE);
+                } else if (root) {
+                    ((DefaultGlobalContext<?>) rootContext).restrictCachePolicy(0, false);
+                }
+            }
+            return continuation.proceed(context);
+        }
+    }
+}
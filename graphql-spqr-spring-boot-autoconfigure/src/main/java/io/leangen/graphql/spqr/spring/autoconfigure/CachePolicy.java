@@ -0,0 +1,73 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import graphql.ExecutionResult;
+import org.springframework.http.CacheControl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The HTTP cache policy of an operation's result, merged from the cache hints of its fields
+ */
+public final class CachePolicy {
+
+    /**
+     * The policy of an operation no field has given a hint for
+     */
+    public static final CachePolicy UNRESTRICTED = new CachePolicy(-1, false);
+
+    private final int maxAge;
+    private final boolean privateScope;
+
+    private CachePolicy(int maxAge, boolean privateScope) {
+        this.maxAge = maxAge;
+        this.privateScope = privateScope;
+    }
+
+    /**
+     * @return the policy allowing at most the given max-age and scope, in addition to the restrictions of this one
+     */
+    public CachePolicy restrict(int maxAge, boolean privateScope) {
+        int restrictedMaxAge = this.maxAge < 0 ? maxAge : Math.min(this.maxAge, maxAge);
+        boolean restrictedScope = this.privateScope || privateScope;
+        if (restrictedMaxAge == this.maxAge && restrictedScope == this.privateScope) {
+            return this;
+        }
+        return new CachePolicy(restrictedMaxAge, restrictedScope);
+    }
+
+    public boolean isCacheable() {
+        return maxAge > 0;
+    }
+
+    /**
+     * @return the max-age in seconds, or -1 if no field has given a hint
+     */
+    public int getMaxAge() {
+        return maxAge;
+    }
+
+    public boolean isPrivate() {
+        return privateScope;
+    }
+
+    /**
+     * @return the {@code Cache-Control} header value, only meaningful if {@link #isCacheable()}
+     */
+    public String toHeaderValue() {
+        CacheControl cacheControl = CacheControl.maxAge(maxAge, TimeUnit.SECONDS);
+        return (privateScope ? cacheControl.cachePrivate() : cacheControl.cachePublic()).getHeaderValue();
+    }
+
+    /**
+     * @param globalContext the operation's global context
+     * @param result the operation's result
+     * @return the {@code Cache-Control} header value for a successful operation with a cacheable policy, otherwise null
+     */
+    public static String headerValue(Object globalContext, ExecutionResult result) {
+        if (!(globalContext instanceof DefaultGlobalContext) || !result.getErrors().isEmpty()) {
+            return null;
+        }
+        CachePolicy policy = ((DefaultGlobalContext<?>) globalContext).getCachePolicy();
+        return policy.isCacheable() ? policy.toHeaderValue() : null;
+    }
+}
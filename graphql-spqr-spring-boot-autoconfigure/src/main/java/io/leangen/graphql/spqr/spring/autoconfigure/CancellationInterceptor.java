@@ -0,0 +1,46 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import io.leangen.graphql.execution.InvocationContext;
+import io.leangen.graphql.execution.ResolverInterceptor;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aborts resolution of the remaining fields once the operation's {@link DefaultGlobalContext} has been cancelled
+ * or its deadline has passed. As the resolvers (and consequently the batch loads they'd enqueue) never get invoked,
+ * no further work is done on behalf of a client that has already disconnected or given up waiting.
+ * <p>
+ * Disconnects cancel the operation on WebFlux and over WebSockets. The servlet endpoint executes synchronously,
+ * so a disconnect there goes unnoticed until the response is written, and only the deadline applies.
+ */
+public class CancellationInterceptor implements ResolverInterceptor {
+
+    private final LongAdder deadlineMisses = new LongAdder();
+
+    @Override
+    public Object aroundInvoke(InvocationContext context, Continuation continuation) throws Exception {
+        Object rootContext = context.getResolutionEnvironment().rootContext;
+        if (rootContext instanceof DefaultGlobalContext) {
+            DefaultGlobalContext<?> globalContext = (DefaultGlobalContext<?>) rootContext;
+            if (globalContext.isCancelled()) {
+                throw new CancellationException("Operation cancelled");
+            }
+            if (globalContext.isDeadlineExceeded()) {
+                if (globalContext.markDeadlineMissed()) {
+                    deadlineMisses.increment();
+                }
+                throw new TimeoutException("Operation deadline exceeded");
+            }
+        }
+        return continuation.proceed(context);
+    }
+
+    /**
+     * @return the number of operations that had fields aborted due to their deadline passing
+     */
+    public long getDeadlineMisses() {
+        return deadlineMisses.sum();
+    }
+}
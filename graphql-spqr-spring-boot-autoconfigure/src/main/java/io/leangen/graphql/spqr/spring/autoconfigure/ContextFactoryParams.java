@@ -27,6 +27,10 @@ public class ContextFactoryParams<R> {
         return environment;
     }
 
+    public static <R> ContextFactoryParams<R> of(GraphQLRequest graphQLRequest, R nativeRequest, Object environment) {
+        return new ContextFactoryParams<>(graphQLRequest, nativeRequest, environment);
+    }
+
     public static <R> Builder<R> builder() {
         return new Builder<>();
     }
@@ -0,0 +1,51 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A typed handle to a value stored in {@link DefaultGlobalContext}.
+ * Each key owns a slot in a small per-operation array, so lookups need neither hashing nor casts at the call site.
+ * Keys are meant to be created once and kept in constants, as every key created takes up a slot for good.
+ * <pre>{@code
+ * static final ContextKey<Tenant> TENANT = ContextKey.of("tenant", Tenant.class);
+ *
+ * Tenant tenant = globalContext.computeIfAbsent(TENANT, () -> tenants.resolve(request));
+ * }</pre>
+ *
+ * @param <T> the type of the value stored under this key
+ */
+public final class ContextKey<T> {
+
+    private static final AtomicInteger keyCount = new AtomicInteger();
+
+    private final String name;
+    private final Class<T> type;
+    final int index;
+
+    private ContextKey(String name, Class<T> type) {
+        this.name = name;
+        this.type = type;
+        this.index = keyCount.getAndIncrement();
+    }
+
+    public static <T> ContextKey<T> of(String name, Class<T> type) {
+        return new ContextKey<>(name, type);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    T cast(Object value) {
+        return type.cast(value);
+    }
+
+    @Override
+    public String toString() {
+        return "ContextKey(" + name + ": " + type.getSimpleName() + ")";
+    }
+}
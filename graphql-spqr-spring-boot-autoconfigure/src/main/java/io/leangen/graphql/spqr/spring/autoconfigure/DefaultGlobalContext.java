@@ -1,29 +1,254 @@
 package io.leangen.graphql.spqr.spring.autoconfigure;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
 
 public class DefaultGlobalContext<R> {
 
     private final R nativeRequest;
-    private final Map<String, Object> extensions;
+    private final EntityCacheStats entityCacheStats;
+    private volatile Map<String, Object> extensions;
+    private volatile Object[] values;
+    private volatile boolean cancelled;
+    private volatile long deadlineNanos;
+    private volatile boolean deadlineSet;
+    private final AtomicBoolean deadlineMissed = new AtomicBoolean();
+    private volatile Map<EntityKey, Object> entities;
+    private volatile CachePolicy cachePolicy = CachePolicy.UNRESTRICTED;
 
     public DefaultGlobalContext(R request) {
+        this(request, null);
+    }
+
+    /**
+     * @param request the native request
+     * @param entityCacheStats counts the entity cache hits and misses of the operation (null to not count them)
+     */
+    public DefaultGlobalContext(R request, EntityCacheStats entityCacheStats) {
         this.nativeRequest = request;
-        this.extensions = new ConcurrentHashMap<>();
+        this.entityCacheStats = entityCacheStats;
     }
 
     public R getNativeRequest() {
         return nativeRequest;
     }
 
+    /**
+     * Marks the operation as cancelled (e.g. because the client went away).
+     * Resolvers that haven't been invoked yet will fail fast instead of running to completion.
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancels the given global context if it supports cancellation, and does nothing otherwise
+     *
+     * @param globalContext the context to cancel, as found in the execution input
+     */
+    public static void cancel(Object globalContext) {
+        if (globalContext instanceof DefaultGlobalContext) {
+            ((DefaultGlobalContext<?>) globalContext).cancel();
+        }
+    }
+
+    /**
+     * Sets the time the operation is allowed to take, counting from now.
+     * Resolvers invoked after the deadline has passed fail fast, leaving the already resolved parts of the result intact.
+     *
+     * @param timeout the time left for the operation to complete
+     */
+    public void setDeadline(Duration timeout) {
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+        this.deadlineSet = true;
+    }
+
+    /**
+     * @return the time left until the deadline (negative once it has passed), or {@code null} if there is no deadline
+     */
+    public Duration getRemainingTime() {
+        return deadlineSet ? Duration.ofNanos(deadlineNanos - System.nanoTime()) : null;
+    }
+
+    public boolean isDeadlineExceeded() {
+        return deadlineSet && deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    //Returns true only the first time it's invoked, so that each missed deadline is counted once
+    boolean markDeadlineMissed() {
+        return deadlineMissed.compareAndSet(false, true);
+    }
+
+    /**
+     * Restricts how long and by whom the operation's result may be cached, e.g. according to a field's cache hint
+     *
+     * @param maxAge the maximum number of seconds the result may be cached for
+     * @param privateScope whether the result is specific to the requesting user
+     */
+    public synchronized void restrictCachePolicy(int maxAge, boolean privateScope) {
+        this.cachePolicy = cachePolicy.restrict(maxAge, privateScope);
+    }
+
+    public CachePolicy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    /**
+     * Returns the entity of the given type and id loaded earlier in the same operation, or loads and remembers it.
+     * Repeated fetches of the same entity through different paths of a query thus return the same instance
+     * without another round-trip. Entities that fail to load (null) are not remembered.
+     *
+     * @param type the entity type
+     * @param id the entity id
+     * @param loader loads the entity if it hasn't been loaded yet
+     * @param <T> the entity type
+     *
+     * @return the entity, or null if not found
+     */
+    public <T> T getEntity(Class<T> type, Object id, Supplier<? extends T> loader) {
+        EntityKey key = new EntityKey(type, id);
+        Object cached = getEntities().get(key);
+        if (cached != null) {
+            if (entityCacheStats != null) {
+                entityCacheStats.recordHit();
+            }
+            return type.cast(cached);
+        }
+        if (entityCacheStats != null) {
+            entityCacheStats.recordMiss();
+        }
+        T loaded = loader.get();
+        if (loaded == null) {
+            return null;
+        }
+        //Loading happens outside the map, so a concurrent load may have won the race, in which case its instance is kept
+        Object existing = entities.putIfAbsent(key, loaded);
+        return existing != null ? type.cast(existing) : loaded;
+    }
+
+    /**
+     * Remembers an entity loaded by other means (e.g. as part of a collection) for the rest of the operation
+     */
+    public <T> void putEntity(Class<? super T> type, Object id, T entity) {
+        getEntities().putIfAbsent(new EntityKey(type, id), entity);
+    }
+
+    //Most operations never use the entity cache, so it's only allocated on first use
+    private Map<EntityKey, Object> getEntities() {
+        Map<EntityKey, Object> entities = this.entities;
+        if (entities == null) {
+            synchronized (this) {
+                entities = this.entities;
+                if (entities == null) {
+                    entities = this.entities = new ConcurrentHashMap<>();
+                }
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * @return the value stored under the given key, or null if there is none
+     */
+    public <T> T get(ContextKey<T> key) {
+        Object[] values = this.values;
+        return values != null && key.index < values.length ? key.cast(values[key.index]) : null;
+    }
+
+    /**
+     * Stores the given value under the given key for the rest of the operation
+     *
+     * @return the value previously stored under the key, or null if there was none
+     */
+    public synchronized <T> T put(ContextKey<T> key, T value) {
+        T previous = get(key);
+        //Copy on write keeps reads lock-free, and the array only grows as far as the keys actually used
+        Object[] values = this.values;
+        int length = values != null ? values.length : 0;
+        Object[] copy = new Object[Math.max(length, key.index + 1)];
+        if (values != null) {
+            System.arraycopy(values, 0, copy, 0, length);
+        }
+        copy[key.index] = value;
+        this.values = copy;
+        return previous;
+    }
+
+    /**
+     * Returns the value stored under the given key, or computes and stores it.
+     * The value is computed at most once per operation, even if requested concurrently.
+     */
+    public <T> T computeIfAbsent(ContextKey<T> key, Supplier<? extends T> supplier) {
+        T value = get(key);
+        if (value != null) {
+            return value;
+        }
+        synchronized (this) {
+            value = get(key);
+            if (value == null) {
+                value = supplier.get();
+                if (value != null) {
+                    put(key, value);
+                }
+            }
+            return value;
+        }
+    }
+
     @SuppressWarnings("unchecked")
     public <T> T getExtension(String key) {
-        return (T) extensions.get(key);
+        Map<String, Object> extensions = this.extensions;
+        return extensions == null ? null : (T) extensions.get(key);
     }
 
     @SuppressWarnings("unchecked")
     public <T> T setExtension(String key, T value) {
-        return (T) extensions.put(key, value);
+        return (T) getExtensions().put(key, value);
+    }
+
+    //Like the entity cache, string-keyed extensions are rarely used, so the map is only allocated on first write
+    private Map<String, Object> getExtensions() {
+        Map<String, Object> extensions = this.extensions;
+        if (extensions == null) {
+            synchronized (this) {
+                extensions = this.extensions;
+                if (extensions == null) {
+                    extensions = this.extensions = new ConcurrentHashMap<>();
+                }
+            }
+        }
+        return extensions;
+    }
+
+    private static final class EntityKey {
+
+        private final Class<?> type;
+        private final Object id;
+
+        EntityKey(Class<?> type, Object id) {
+            this.type = type;
+            this.id = Objects.requireNonNull(id);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof EntityKey)) return false;
+            EntityKey that = (EntityKey) o;
+            return type.equals(that.type) && id.equals(that.id);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * type.hashCode() + id.hashCode();
+        }
     }
 }
@@ -0,0 +1,127 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.Document;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Keeps the parsed and validated documents of the most recently used queries, so that repeated queries skip both steps.
+ * Also lets callers swap a freshly read query string for the equal instance already held by the cache,
+ * and look up the parsed document of a query without parsing it again.
+ * <p>
+ * Lookups are lock-free. Recency is tracked per entry, and once the cache grows past its maximum size,
+ * the least recently used entries are evicted in a batch, so that most insertions don't pay for eviction.
+ */
+public class DocumentCache implements PreparsedDocumentProvider {
+
+    private final int maxSize;
+    private final int evictionBatch;
+    private final ConcurrentMap<String, Cached> documents = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public DocumentCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.evictionBatch = Math.max(1, maxSize / 16);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput, Function<ExecutionInput, PreparsedDocumentEntry> computeFunction) {
+        String query = executionInput.getQuery();
+        Cached cached = documents.get(query);
+        if (cached != null) {
+            hits.increment();
+            cached.touch();
+            return cached.document;
+        }
+        misses.increment();
+        //Computed outside the map, at worst a query arriving concurrently gets parsed twice
+        PreparsedDocumentEntry document = computeFunction.apply(executionInput);
+        //Documents with errors are not worth keeping, and would let invalid queries push out the valid ones
+        if (!document.hasErrors() && documents.putIfAbsent(query, new Cached(query, document)) == null) {
+            evictIfFull();
+        }
+        return document;
+    }
+
+    /**
+     * @return The instance of the given query held by the cache if there is one, otherwise the query itself
+     */
+    public String intern(String query) {
+        if (query == null) {
+            return null;
+        }
+        Cached cached = documents.get(query);
+        return cached != null ? cached.query : query;
+    }
+
+    /**
+     * Looks up the parsed document of a query that has been executed before, without counting as a use of it
+     *
+     * @return The parsed document if the query is cached, otherwise {@code null}
+     */
+    public Document getParsedDocument(String query) {
+        if (query == null) {
+            return null;
+        }
+        Cached cached = documents.get(query);
+        return cached != null ? cached.document.getDocument() : null;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private void evictIfFull() {
+        //If another thread is already evicting, it will make room for this entry too
+        if (documents.size() <= maxSize || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int excess = documents.size() - maxSize;
+            if (excess <= 0) {
+                return;
+            }
+            //Entries keep getting used during eviction, so their use times are snapshot once before picking the oldest
+            long[] lastUsed = documents.values().stream().mapToLong(cached -> cached.lastUsed).toArray();
+            Arrays.sort(lastUsed);
+            long threshold = lastUsed[Math.min(lastUsed.length, excess + evictionBatch) - 1];
+            documents.values().removeIf(cached -> cached.lastUsed <= threshold);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static class Cached {
+
+        private final String query;
+        private final PreparsedDocumentEntry document;
+        private volatile long lastUsed = System.nanoTime();
+
+        Cached(String query, PreparsedDocumentEntry document) {
+            this.query = query;
+            this.document = document;
+        }
+
+        void touch() {
+            lastUsed = System.nanoTime();
+        }
+    }
+}
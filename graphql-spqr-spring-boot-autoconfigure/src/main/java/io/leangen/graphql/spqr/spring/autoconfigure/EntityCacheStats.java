@@ -0,0 +1,35 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the entity fetches of the operations whose {@link DefaultGlobalContext} it was given,
+ * split by whether they were served from the per-operation entity cache or had to be loaded
+ */
+public class EntityCacheStats {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    void recordHit() {
+        hits.increment();
+    }
+
+    void recordMiss() {
+        misses.increment();
+    }
+
+    /**
+     * @return the number of entity fetches served from the per-operation cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of entity fetches that had to be loaded
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,52 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.leangen.graphql.spqr.spring.events.DistributedEventBus;
+import io.leangen.graphql.spqr.spring.events.EventBus;
+import io.leangen.graphql.spqr.spring.events.EventBusTransport;
+import io.leangen.graphql.spqr.spring.events.LocalEventBus;
+import io.leangen.graphql.spqr.spring.events.TcpEventBroker;
+import io.leangen.graphql.spqr.spring.events.TcpEventTransport;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.Optional;
+
+@Configuration
+@ConditionalOnClass(Flux.class)
+@ConditionalOnProperty(name = "graphql.spqr.event-bus.enabled", havingValue = "true", matchIfMissing = true)
+public class EventBusAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "graphql.spqr.event-bus.broker.embedded", havingValue = "true")
+    public TcpEventBroker eventBroker(SpqrProperties config) throws IOException {
+        SpqrProperties.EventBus.Broker broker = config.getEventBus().getBroker();
+        InetAddress address = broker.getHost() == null ? InetAddress.getLoopbackAddress() : InetAddress.getByName(broker.getHost());
+        return new TcpEventBroker(broker.getPort(), address);
+    }
+
+    //Connects in the background, so an unreachable broker doesn't prevent the application from starting
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "graphql.spqr.event-bus.broker.host")
+    public EventBusTransport eventBusTransport(SpqrProperties config) {
+        SpqrProperties.EventBus.Broker broker = config.getEventBus().getBroker();
+        return new TcpEventTransport(broker.getHost(), broker.getPort());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public EventBus eventBus(Optional<EventBusTransport> transport, Optional<ObjectMapper> objectMapper) {
+        return transport
+                .<EventBus>map(t -> new DistributedEventBus(t, objectMapper.orElseGet(ObjectMapper::new)))
+                .orElseGet(LocalEventBus::new);
+    }
+}
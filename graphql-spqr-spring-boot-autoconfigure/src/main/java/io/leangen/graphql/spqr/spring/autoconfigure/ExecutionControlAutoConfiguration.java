@@ -0,0 +1,76 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import io.leangen.graphql.GraphQLSchemaGenerator;
+import io.leangen.graphql.module.Module;
+import io.leangen.graphql.spqr.spring.util.GlobalResolverInterceptorFactory;
+import io.leangen.graphql.spqr.spring.web.RequestDeadline;
+import io.leangen.graphql.spqr.spring.web.ResponseCache;
+import io.leangen.graphql.spqr.spring.web.SingleFlight;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+@Configuration
+@ConditionalOnClass(GraphQLSchemaGenerator.class)
+public class ExecutionControlAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CancellationInterceptor cancellationInterceptor() {
+        return new CancellationInterceptor();
+    }
+
+    @Bean
+    public Internal<Module> cancellationModule(CancellationInterceptor interceptor) {
+        GlobalResolverInterceptorFactory interceptorFactory = new GlobalResolverInterceptorFactory(
+                Collections.singletonList(interceptor));
+        return new Internal<>(context -> context.getSchemaGenerator()
+                .withResolverInterceptorFactories((config, factories) -> factories.append(interceptorFactory)));
+    }
+
+    @Bean
+    public Internal<Module> cacheControlModule() {
+        CacheControlInterceptorFactory interceptorFactory = new CacheControlInterceptorFactory();
+        return new Internal<>(context -> context.getSchemaGenerator()
+                .withResolverInterceptorFactories((config, factories) -> factories.append(interceptorFactory)));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "graphql.spqr.http.coalescing.enabled", havingValue = "true")
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public SingleFlight singleFlight(SpqrProperties config, Optional<DocumentCache> documentCache) {
+        SpqrProperties.Http.Coalescing coalescing = config.getHttp().getCoalescing();
+        return new SingleFlight(Arrays.asList(coalescing.getPrivateHeaders()), Arrays.asList(coalescing.getVaryHeaders()),
+                documentCache.orElse(null));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "graphql.spqr.http.response-cache.enabled", havingValue = "true")
+    public ResponseCache responseCache(SpqrProperties config) throws IOException {
+        SpqrProperties.Http.ResponseCache responseCache = config.getHttp().getResponseCache();
+        Path directory = responseCache.getDirectory() != null
+                ? Paths.get(responseCache.getDirectory())
+                : Files.createTempDirectory("graphql-spqr-responses");
+        return new ResponseCache(directory, responseCache.getMaxSizeMb() * 1024L * 1024L, Duration.ofSeconds(responseCache.getTtlSeconds()));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public RequestDeadline requestDeadline(SpqrProperties config) {
+        SpqrProperties.Http.Deadline deadline = config.getHttp().getDeadline();
+        return new RequestDeadline(deadline.getDefaultMillis(), deadline.getMaxMillis(), deadline.getHeader());
+    }
+}
@@ -0,0 +1,31 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import io.leangen.graphql.GraphQLSchemaGenerator;
+import io.leangen.graphql.module.Module;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnClass(GraphQLSchemaGenerator.class)
+@ConditionalOnBean(CacheManager.class)
+@AutoConfigureAfter(CacheAutoConfiguration.class)
+public class FieldCacheAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public FieldCacheInterceptorFactory fieldCacheInterceptorFactory(CacheManager cacheManager) {
+        return new FieldCacheInterceptorFactory(cacheManager);
+    }
+
+    @Bean
+    public Internal<Module> fieldCacheModule(FieldCacheInterceptorFactory interceptorFactory) {
+        return new Internal<>(context -> context.getSchemaGenerator()
+                .withResolverInterceptorFactories((config, factories) -> factories.append(interceptorFactory)));
+    }
+}
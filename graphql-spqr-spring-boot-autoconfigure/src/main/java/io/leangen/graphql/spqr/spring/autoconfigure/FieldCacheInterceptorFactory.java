@@ -0,0 +1,178 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import io.leangen.graphql.execution.InvocationContext;
+import io.leangen.graphql.execution.ResolverInterceptor;
+import io.leangen.graphql.execution.ResolverInterceptorFactory;
+import io.leangen.graphql.execution.ResolverInterceptorFactoryParams;
+import io.leangen.graphql.metadata.OperationArgument;
+import io.leangen.graphql.metadata.Resolver;
+import io.leangen.graphql.spqr.spring.annotations.GraphQLCached;
+import io.leangen.graphql.util.ClassUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Caches the results of resolvers annotated with {@link GraphQLCached} in the caches provided by a {@link CacheManager}.
+ * Results of synchronous and {@link CompletionStage}-returning resolvers are supported.
+ */
+public class FieldCacheInterceptorFactory implements ResolverInterceptorFactory {
+
+    private final CacheManager cacheManager;
+    private final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+    private final List<BiConsumer<String, Statistics>> fieldListeners = new CopyOnWriteArrayList<>();
+
+    public FieldCacheInterceptorFactory(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @Override
+    public List<ResolverInterceptor> getInterceptors(ResolverInterceptorFactoryParams params) {
+        Resolver resolver = params.getResolver();
+        GraphQLCached cached = resolver.getExecutable().getDelegate().getAnnotation(GraphQLCached.class);
+        if (cached == null) {
+            return Collections.emptyList();
+        }
+        AnnotatedElement method = resolver.getExecutable().getDelegate();
+        String field = ((Member) method).getDeclaringClass().getName() + "." + resolver.getOperationName();
+        Statistics fieldStatistics = statistics.get(field);
+        if (fieldStatistics == null) {
+            Statistics created = new Statistics();
+            fieldStatistics = statistics.putIfAbsent(field, created);
+            if (fieldStatistics == null) {
+                fieldStatistics = created;
+                fieldListeners.forEach(listener -> listener.accept(field, created));
+            }
+        }
+        boolean async = ClassUtils.isSuperClass(CompletionStage.class, resolver.getReturnType());
+        return Collections.singletonList(new CachingInterceptor(cached, method.toString(), resolver.getArguments(), async, fieldStatistics));
+    }
+
+    /**
+     * @return the hit/miss statistics of each cached field, keyed by {@code fully.qualified.DeclaringClass.operationName}
+     */
+    public Map<String, Statistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    /**
+     * Registers a listener notified of every cached field, both those already known and those discovered later
+     *
+     * @param listener receives the field key, as used in {@link #getStatistics()}, and the field's statistics
+     */
+    public void onNewField(BiConsumer<String, Statistics> listener) {
+        fieldListeners.add(listener);
+        statistics.forEach(listener);
+    }
+
+    private class CachingInterceptor implements ResolverInterceptor {
+
+        private final GraphQLCached config;
+        private final String resolverId;
+        private final boolean[] keyArguments;
+        private final boolean async;
+        private final Statistics statistics;
+
+        CachingInterceptor(GraphQLCached config, String resolverId, List<OperationArgument> arguments, boolean async, Statistics statistics) {
+            this.config = config;
+            this.resolverId = resolverId;
+            this.async = async;
+            this.statistics = statistics;
+            //Only arguments coming from the query make up the key, injected ones (e.g. the environment) don't
+            this.keyArguments = new boolean[arguments.size()];
+            for (int i = 0; i < keyArguments.length; i++) {
+                keyArguments[i] = arguments.get(i).isMappable();
+            }
+        }
+
+        @Override
+        public Object aroundInvoke(InvocationContext context, Continuation continuation) throws Exception {
+            Cache cache = cacheManager.getCache(config.value());
+            if (cache == null) {
+                return continuation.proceed(context);
+            }
+            Object key = key(context);
+            Cache.ValueWrapper wrapper = cache.get(key);
+            if (wrapper != null && wrapper.get() instanceof Entry && !((Entry) wrapper.get()).isExpired()) {
+                statistics.hits.increment();
+                Object value = ((Entry) wrapper.get()).value;
+                return async ? CompletableFuture.completedFuture(value) : value;
+            }
+            statistics.misses.increment();
+            Object result = continuation.proceed(context);
+            long expiresAt = config.ttlSeconds() > 0 ? System.currentTimeMillis() + config.ttlSeconds() * 1000 : Long.MAX_VALUE;
+            if (async && result instanceof CompletionStage) {
+                ((CompletionStage<?>) result).thenAccept(value -> cache.put(key, new Entry(value, expiresAt)));
+            } else if (!async) {
+                cache.put(key, new Entry(result, expiresAt));
+            }
+            return result;
+        }
+
+        private Object key(InvocationContext context) {
+            Object[] arguments = context.getArguments();
+            List<Object> key = new ArrayList<>(arguments.length + 3);
+            //Resolvers may share a cache, so the resolver itself is part of the key, as a string for caches that serialize keys
+            key.add(resolverId);
+            key.add(context.getResolutionEnvironment().context);
+            for (int i = 0; i < arguments.length; i++) {
+                if (i >= keyArguments.length || keyArguments[i]) {
+                    key.add(arguments[i]);
+                }
+            }
+            Object rootContext = context.getResolutionEnvironment().rootContext;
+            if (!config.contextKey().isEmpty() && rootContext instanceof DefaultGlobalContext) {
+                key.add(((DefaultGlobalContext<?>) rootContext).getExtension(config.contextKey()));
+            }
+            return key;
+        }
+    }
+
+    //Wraps every cached value to track its expiration, as Spring's Cache abstraction has no notion of TTL
+    private static class Entry {
+
+        private final Object value;
+        private final long expiresAt;
+
+        Entry(Object value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+
+    public static class Statistics {
+
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public double getHitRate() {
+            long hits = getHits();
+            long total = hits + getMisses();
+            return total == 0 ? 0 : (double) hits / total;
+        }
+    }
+}
@@ -11,7 +11,9 @@ import io.leangen.graphql.generator.OperationMapper;
 import io.leangen.graphql.generator.mapping.ArgumentInjector;
 import io.leangen.graphql.generator.mapping.ArgumentInjectorParams;
 import io.leangen.graphql.generator.mapping.TypeMapper;
+import io.leangen.graphql.spqr.spring.web.FileUploads;
 import io.leangen.graphql.util.ClassUtils;
+import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.web.multipart.MultipartFile;
 
 class FileUploadHandler implements TypeMapper, ArgumentInjector {
@@ -19,7 +21,7 @@ class FileUploadHandler implements TypeMapper, ArgumentInjector {
     public static final GraphQLScalarType FILE_UPLOAD_SCALAR = GraphQLScalarType.newScalar()
             .name("FileUpload")
             .description("An apollo upload compatible scalar for multipart uploads")
-            .coercing(new Coercing<MultipartFile, Void>() {
+            .coercing(new Coercing<Object, Void>() {
 
                 @Override
                 public Void serialize(Object dataFetcherResult) throws CoercingSerializeException {
@@ -27,15 +29,15 @@ class FileUploadHandler implements TypeMapper, ArgumentInjector {
                 }
 
                 @Override
-                public MultipartFile parseValue(Object input) throws CoercingParseValueException {
-                    if (input instanceof MultipartFile) {
-                        return (MultipartFile) input;
+                public Object parseValue(Object input) throws CoercingParseValueException {
+                    if (input instanceof MultipartFile || input instanceof FilePart) {
+                        return input;
                     }
-                    throw new CoercingParseValueException("Expected the input to be parsed by the servlet controller");
+                    throw new CoercingParseValueException("Expected the input to be parsed by the controller");
                 }
 
                 @Override
-                public MultipartFile parseLiteral(Object input) throws CoercingParseLiteralException {
+                public Object parseLiteral(Object input) throws CoercingParseLiteralException {
                     throw new CoercingParseLiteralException("Parsing the literal of the upload is not supported");
                 }
             })
@@ -43,6 +45,9 @@ class FileUploadHandler implements TypeMapper, ArgumentInjector {
 
     @Override
     public GraphQLInputType toGraphQLInputType(AnnotatedType javaType, OperationMapper operationMapper, Set<Class<? extends TypeMapper>> mappersToSkip, BuildContext buildContext) {
+        if (ClassUtils.isAssignable(FileUploads.class, javaType.getType())) {
+            return new GraphQLList(FILE_UPLOAD_SCALAR);
+        }
         return FILE_UPLOAD_SCALAR;
     }
 
@@ -53,17 +58,30 @@ class FileUploadHandler implements TypeMapper, ArgumentInjector {
 
     @Override
     public boolean supports(AnnotatedType type) {
-        return type != null && ClassUtils.isAssignable(MultipartFile.class, type.getType());
+        return type != null && (ClassUtils.isAssignable(MultipartFile.class, type.getType())
+                || ClassUtils.isAssignable(FilePart.class, type.getType())
+                || ClassUtils.isAssignable(FileUploads.class, type.getType()));
     }
 
     @Override
     public Object getArgumentValue(ArgumentInjectorParams params) {
-        if ((params.getInput() instanceof MultipartFile)) {
+        if (params.getInput() instanceof MultipartFile || params.getInput() instanceof FilePart) {
             return params.getInput();
         }
         if (!(params.getInput() instanceof Collection)) {
             return null;
         }
+        if (ClassUtils.isAssignable(FileUploads.class, params.getType().getType())) {
+            List<MultipartFile> files = new ArrayList<>();
+            for (Object file : (Collection<?>) params.getInput()) {
+                if (!(file instanceof MultipartFile)) {
+                    throw new IllegalArgumentException(FileUploads.class.getSimpleName() + " can only hold servlet uploads, but received "
+                            + (file == null ? "null" : file.getClass().getName()) + ". Use a List<FilePart> argument on WebFlux instead.");
+                }
+                files.add((MultipartFile) file);
+            }
+            return new FileUploads(files);
+        }
         if (ClassUtils.isAssignable(params.getType().getType(), params.getInput().getClass())) {
             return params.getInput();
         }
@@ -0,0 +1,141 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import io.leangen.graphql.GraphQLSchemaGenerator;
+import io.leangen.graphql.spqr.spring.modules.data.PageableAdapter;
+import io.leangen.graphql.spqr.spring.web.ResponseCache;
+import io.leangen.graphql.spqr.spring.web.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the counters kept by the starter's components as Micrometer meters, when Micrometer is present.
+ * The binders are applied to the registries by Spring Boot Actuator.
+ */
+@Configuration
+@ConditionalOnClass({GraphQLSchemaGenerator.class, MeterRegistry.class})
+@AutoConfigureAfter({BaseAutoConfiguration.class, ExecutionControlAutoConfiguration.class, FieldCacheAutoConfiguration.class, SpringDataAutoConfiguration.class})
+public class MetricsAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(CancellationInterceptor.class)
+    public MeterBinder graphQLDeadlineMetrics(CancellationInterceptor interceptor) {
+        return registry -> FunctionCounter.builder("graphql.spqr.deadline.misses", interceptor, CancellationInterceptor::getDeadlineMisses)
+                .description("Operations that had fields aborted due to their deadline passing")
+                .register(registry);
+    }
+
+    @Bean
+    @ConditionalOnBean(EntityCacheStats.class)
+    public MeterBinder graphQLEntityCacheMetrics(EntityCacheStats stats) {
+        return registry -> {
+            FunctionCounter.builder("graphql.spqr.entity.cache", stats, EntityCacheStats::getHits)
+                    .tag("result", "hit")
+                    .description("Entity fetches served from the per-operation entity cache")
+                    .register(registry);
+            FunctionCounter.builder("graphql.spqr.entity.cache", stats, EntityCacheStats::getMisses)
+                    .tag("result", "miss")
+                    .description("Entity fetches that had to be loaded")
+                    .register(registry);
+            Gauge.builder("graphql.spqr.entity.cache.deduplication", stats, s -> ratio(s.getHits(), s.getMisses()))
+                    .description("Share of entity fetches deduplicated by the per-operation entity cache")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    @ConditionalOnBean(DocumentCache.class)
+    public MeterBinder graphQLDocumentCacheMetrics(DocumentCache documentCache) {
+        return registry -> {
+            FunctionCounter.builder("graphql.spqr.document.cache", documentCache, DocumentCache::getHits)
+                    .tag("result", "hit")
+                    .description("Queries that skipped parsing and validation")
+                    .register(registry);
+            FunctionCounter.builder("graphql.spqr.document.cache", documentCache, DocumentCache::getMisses)
+                    .tag("result", "miss")
+                    .description("Queries that had to be parsed and validated")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    @ConditionalOnBean(FieldCacheInterceptorFactory.class)
+    public MeterBinder graphQLFieldCacheMetrics(FieldCacheInterceptorFactory interceptorFactory) {
+        //Cached fields are only discovered as the schema gets generated, possibly after the registry is bound
+        return registry -> interceptorFactory.onNewField((field, statistics) -> {
+            FunctionCounter.builder("graphql.spqr.field.cache", statistics, FieldCacheInterceptorFactory.Statistics::getHits)
+                    .tags("field", field, "result", "hit")
+                    .description("Field resolutions served from the cache")
+                    .register(registry);
+            FunctionCounter.builder("graphql.spqr.field.cache", statistics, FieldCacheInterceptorFactory.Statistics::getMisses)
+                    .tags("field", field, "result", "miss")
+                    .description("Field resolutions that had to invoke the resolver")
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    @ConditionalOnBean(SingleFlight.class)
+    public MeterBinder graphQLCoalescingMetrics(SingleFlight singleFlight) {
+        return registry -> {
+            FunctionCounter.builder("graphql.spqr.coalescing", singleFlight, SingleFlight::getLeaders)
+                    .tag("role", "leader")
+                    .description("Queries executed on behalf of all identical concurrent requests")
+                    .register(registry);
+            FunctionCounter.builder("graphql.spqr.coalescing", singleFlight, SingleFlight::getFollowers)
+                    .tag("role", "follower")
+                    .description("Queries answered with the outcome of an identical in-flight execution")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    @ConditionalOnBean(ResponseCache.class)
+    public MeterBinder graphQLResponseCacheMetrics(ResponseCache responseCache) {
+        return registry -> {
+            FunctionCounter.builder("graphql.spqr.response.cache", responseCache, ResponseCache::getHits)
+                    .tag("result", "hit")
+                    .description("GET requests served from the disk response cache")
+                    .register(registry);
+            FunctionCounter.builder("graphql.spqr.response.cache", responseCache, ResponseCache::getMisses)
+                    .tag("result", "miss")
+                    .description("GET requests the disk response cache could not serve")
+                    .register(registry);
+            Gauge.builder("graphql.spqr.response.cache.size", responseCache, ResponseCache::getSize)
+                    .baseUnit("bytes")
+                    .description("Total size of the responses in the disk response cache")
+                    .register(registry);
+        };
+    }
+
+    static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.data.domain.Slice")
+    static class SpringDataMetrics {
+
+        @Bean
+        @ConditionalOnBean(PageableAdapter.class)
+        public MeterBinder graphQLPageSizeMetrics(PageableAdapter pageableAdapter) {
+            return registry -> {
+                FunctionCounter.builder("graphql.spqr.page.oversize", pageableAdapter, PageableAdapter::getClampedCount)
+                        .tag("outcome", "clamped")
+                        .description("Page requests reduced to the maximum page size")
+                        .register(registry);
+                FunctionCounter.builder("graphql.spqr.page.oversize", pageableAdapter, PageableAdapter::getRejectedCount)
+                        .tag("outcome", "rejected")
+                        .description("Page requests refused for exceeding the maximum page size")
+                        .register(registry);
+            };
+        }
+    }
+}
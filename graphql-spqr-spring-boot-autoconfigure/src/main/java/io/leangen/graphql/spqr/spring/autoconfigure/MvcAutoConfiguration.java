@@ -5,43 +5,87 @@ import graphql.schema.GraphQLSchema;
 import io.leangen.graphql.spqr.spring.web.GraphQLController;
 import io.leangen.graphql.spqr.spring.web.servlet.GraphQLServletExecutor;
 import io.leangen.graphql.spqr.spring.web.GuiController;
+import io.leangen.graphql.spqr.spring.web.IntrospectionCache;
+import io.leangen.graphql.spqr.spring.web.RequestDeadline;
+import io.leangen.graphql.spqr.spring.web.ResponseCache;
+import io.leangen.graphql.spqr.spring.web.SingleFlight;
+import io.leangen.graphql.spqr.spring.web.servlet.CoalescingGraphQLExecutor;
 import io.leangen.graphql.spqr.spring.web.servlet.DefaultGraphQLExecutor;
 import io.leangen.graphql.spqr.spring.web.servlet.DefaultGraphQLController;
+import io.leangen.graphql.spqr.spring.web.servlet.ResponseCacheFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.util.Optional;
 
 @Configuration
 @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class MvcAutoConfiguration {
 
+    /**
+     * The ETag filter runs around the response cache filter, so that responses served from the cache
+     * get their ETag (and 304) as well, while the cache sees the body before the ETag filter releases it
+     */
+    public static final int ETAG_FILTER_ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+    public static final int RESPONSE_CACHE_FILTER_ORDER = ETAG_FILTER_ORDER + 1;
+
     @Autowired(required = false)
     @SuppressWarnings("SpringJavaAutowiredFieldsWarningInspection")
     private DataLoaderRegistryFactory dataLoaderRegistryFactory;
 
     @Bean
     @ConditionalOnMissingBean
-    public ServletContextFactory globalContextFactory() {
-        return params -> new DefaultGlobalContext<>(params.getNativeRequest());
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public ServletContextFactory globalContextFactory(Optional<EntityCacheStats> entityCacheStats) {
+        EntityCacheStats stats = entityCacheStats.orElse(null);
+        return params -> new DefaultGlobalContext<>(params.getNativeRequest(), stats);
     }
 
     @Bean
     @ConditionalOnProperty(name = "graphql.spqr.http.enabled", havingValue = "true", matchIfMissing = true)
     @ConditionalOnMissingBean
-    public GraphQLServletExecutor graphQLExecutor(ServletContextFactory contextFactory) {
-        return new DefaultGraphQLExecutor(contextFactory, dataLoaderRegistryFactory);
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public GraphQLServletExecutor graphQLExecutor(ServletContextFactory contextFactory, Optional<RequestDeadline> deadline,
+                                                  Optional<SingleFlight> singleFlight) {
+        GraphQLServletExecutor executor = new DefaultGraphQLExecutor(contextFactory, dataLoaderRegistryFactory, deadline.orElse(null));
+        return singleFlight.<GraphQLServletExecutor>map(flight -> new CoalescingGraphQLExecutor(executor, flight, deadline.orElse(null))).orElse(executor);
     }
 
     @Bean
     @ConditionalOnProperty(name = "graphql.spqr.http.enabled", havingValue = "true", matchIfMissing = true)
     @ConditionalOnMissingBean(GraphQLController.class)
     @ConditionalOnBean(GraphQLSchema.class)
-    public DefaultGraphQLController graphQLController(GraphQL graphQL, GraphQLServletExecutor executor) {
-        return new DefaultGraphQLController(graphQL, executor);
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public DefaultGraphQLController graphQLController(GraphQL graphQL, GraphQLServletExecutor executor, GraphQLSchema schema,
+                                                      Optional<IntrospectionCache> introspectionCache,
+                                                      Optional<DocumentCache> documentCache) {
+        return new DefaultGraphQLController(graphQL, executor, schema, introspectionCache.orElse(null), documentCache.orElse(null));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "graphql.spqr.http.etag-enabled", havingValue = "true")
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> graphQLEtagFilter(SpqrProperties config) {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(new ShallowEtagHeaderFilter());
+        registration.addUrlPatterns(config.getHttp().getEndpointPath());
+        registration.setOrder(ETAG_FILTER_ORDER);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "graphql.spqr.http.response-cache.enabled", havingValue = "true")
+    public FilterRegistrationBean<ResponseCacheFilter> graphQLResponseCacheFilter(ResponseCache responseCache, SpqrProperties config) {
+        FilterRegistrationBean<ResponseCacheFilter> registration = new FilterRegistrationBean<>(new ResponseCacheFilter(responseCache));
+        registration.addUrlPatterns(config.getHttp().getEndpointPath());
+        registration.setOrder(RESPONSE_CACHE_FILTER_ORDER);
+        return registration;
     }
 
     @Bean
@@ -6,16 +6,32 @@ import io.leangen.graphql.module.Module;
 import io.leangen.graphql.spqr.spring.modules.reactive.ReactorModule;
 import io.leangen.graphql.spqr.spring.web.GraphQLController;
 import io.leangen.graphql.spqr.spring.web.GuiController;
+import io.leangen.graphql.spqr.spring.web.IntrospectionCache;
+import io.leangen.graphql.spqr.spring.web.RequestDeadline;
+import io.leangen.graphql.spqr.spring.web.ResponseCache;
+import io.leangen.graphql.spqr.spring.web.SingleFlight;
+import io.leangen.graphql.spqr.spring.web.reactive.CoalescingGraphQLExecutor;
 import io.leangen.graphql.spqr.spring.web.reactive.DefaultGraphQLController;
 import io.leangen.graphql.spqr.spring.web.reactive.DefaultGraphQLExecutor;
+import io.leangen.graphql.spqr.spring.web.reactive.EtagWebFilter;
 import io.leangen.graphql.spqr.spring.web.reactive.GraphQLReactiveExecutor;
+import io.leangen.graphql.spqr.spring.web.reactive.MultipartRequestHandler;
+import io.leangen.graphql.spqr.spring.web.reactive.ResponseCacheWebFilter;
 import io.leangen.graphql.spqr.spring.web.reactive.WebFluxContext;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.multipart.MultipartHttpMessageReader;
+import org.springframework.http.codec.multipart.SynchronossPartHttpMessageReader;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.util.context.Context;
 
 import java.util.Optional;
@@ -25,30 +41,50 @@ import java.util.Optional;
 public class ReactiveAutoConfiguration {
 
     @Bean
-    public Internal<Module> reactorModule() {
-        return new Internal<>(new ReactorModule());
+    public Internal<Module> reactorModule(SpqrProperties config) {
+        SpqrProperties.Reactive reactive = config.getReactive();
+        return new Internal<>(new ReactorModule(reactive.getFluxChunkSize(), reactive.getFluxMaxSize()));
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public ReactiveContextFactory globalContextFactory() {
-        return params -> new WebFluxContext(params.getNativeRequest(), (Context) params.getEnvironment());
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public ReactiveContextFactory globalContextFactory(Optional<EntityCacheStats> entityCacheStats) {
+        EntityCacheStats stats = entityCacheStats.orElse(null);
+        return params -> new WebFluxContext(params.getNativeRequest(), (Context) params.getEnvironment(), stats);
     }
 
     @Bean
     @ConditionalOnProperty(name = "graphql.spqr.http.enabled", havingValue = "true", matchIfMissing = true)
     @ConditionalOnMissingBean
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
-    public GraphQLReactiveExecutor graphQLExecutor(ReactiveContextFactory contextFactory, Optional<DataLoaderRegistryFactory> dataLoaderRegistryFactory) {
-        return new DefaultGraphQLExecutor(contextFactory, dataLoaderRegistryFactory.orElse(null));
+    public GraphQLReactiveExecutor graphQLExecutor(ReactiveContextFactory contextFactory, Optional<DataLoaderRegistryFactory> dataLoaderRegistryFactory,
+                                                   Optional<RequestDeadline> deadline, Optional<SingleFlight> singleFlight) {
+        GraphQLReactiveExecutor executor = new DefaultGraphQLExecutor(contextFactory, dataLoaderRegistryFactory.orElse(null), deadline.orElse(null));
+        return singleFlight.<GraphQLReactiveExecutor>map(flight -> new CoalescingGraphQLExecutor(executor, flight, deadline.orElse(null))).orElse(executor);
     }
 
     @Bean
     @ConditionalOnProperty(name = "graphql.spqr.http.enabled", havingValue = "true", matchIfMissing = true)
     @ConditionalOnMissingBean(GraphQLController.class)
     @ConditionalOnBean(GraphQLSchema.class)
-    public DefaultGraphQLController graphQLController(GraphQL graphQL, GraphQLReactiveExecutor executor) {
-        return new DefaultGraphQLController(graphQL, executor);
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public DefaultGraphQLController graphQLController(GraphQL graphQL, GraphQLReactiveExecutor executor, GraphQLSchema schema,
+                                                      Optional<IntrospectionCache> introspectionCache,
+                                                      Optional<DocumentCache> documentCache) {
+        return new DefaultGraphQLController(graphQL, executor, schema, introspectionCache.orElse(null), documentCache.orElse(null));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "graphql.spqr.http.etag-enabled", havingValue = "true")
+    public EtagWebFilter graphQLEtagFilter(SpqrProperties config) {
+        return new EtagWebFilter(config.getHttp().getEndpointPath());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "graphql.spqr.http.response-cache.enabled", havingValue = "true")
+    public ResponseCacheWebFilter graphQLResponseCacheFilter(ResponseCache responseCache, SpqrProperties config) {
+        return new ResponseCacheWebFilter(responseCache, config.getHttp().getEndpointPath());
     }
 
     @Bean
@@ -56,4 +92,25 @@ public class ReactiveAutoConfiguration {
     public GuiController guiController(SpqrProperties config) {
         return new GuiController(config);
     }
+
+    @Configuration
+    @ConditionalOnClass(name = "org.synchronoss.cloud.nio.multipart.NioMultipartParser")
+    @ConditionalOnProperty(name = "graphql.spqr.multipart-upload.enabled", havingValue = "true")
+    static class MultipartUploadConfiguration {
+
+        //Routes take precedence over annotated controllers, so multipart requests never reach the servlet-only controller method
+        @Bean
+        @ConditionalOnProperty(name = "graphql.spqr.http.enabled", havingValue = "true", matchIfMissing = true)
+        @ConditionalOnBean(GraphQLSchema.class)
+        public RouterFunction<ServerResponse> graphQLMultipartRoute(GraphQL graphQL, GraphQLReactiveExecutor executor, SpqrProperties config) {
+            SpqrProperties.MultipartUpload upload = config.getMultipartUpload();
+            SynchronossPartHttpMessageReader partReader = new SynchronossPartHttpMessageReader();
+            partReader.setMaxDiskUsagePerPart(upload.getMaxFileSize());
+            partReader.setMaxInMemorySize(upload.getMaxInMemorySize());
+            partReader.setMaxParts(upload.getMaxParts());
+            MultipartRequestHandler handler = new MultipartRequestHandler(graphQL, executor, new MultipartHttpMessageReader(partReader));
+            return RouterFunctions.route(RequestPredicates.POST(config.getHttp().getEndpointPath())
+                    .and(RequestPredicates.contentType(MediaType.MULTIPART_FORM_DATA)), handler);
+        }
+    }
 }
@@ -5,6 +5,9 @@ import javax.annotation.PostConstruct;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.util.StringUtils;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @ConfigurationProperties(prefix = "graphql.spqr")
 @SuppressWarnings("WeakerAccess")
 public class SpqrProperties {
@@ -21,6 +24,11 @@ public class SpqrProperties {
     // Web properties
     private Http http = new Http();
     private WebSocket ws = new WebSocket();
+    private Reactive reactive = new Reactive();
+    private SpringData springData = new SpringData();
+    private Introspection introspection = new Introspection();
+    private DocumentCache documentCache = new DocumentCache();
+    private EventBus eventBus = new EventBus();
 
     // GUI properties
     private Gui gui = new Gui();
@@ -81,6 +89,22 @@ public class SpqrProperties {
         this.ws = ws;
     }
 
+    public Reactive getReactive() {
+        return reactive;
+    }
+
+    public void setReactive(Reactive reactive) {
+        this.reactive = reactive;
+    }
+
+    public SpringData getSpringData() {
+        return springData;
+    }
+
+    public void setSpringData(SpringData springData) {
+        this.springData = springData;
+    }
+
     public Gui getGui() {
         return gui;
     }
@@ -97,6 +121,154 @@ public class SpqrProperties {
         this.multipartUpload = multipartUpload;
     }
 
+    public Introspection getIntrospection() {
+        return introspection;
+    }
+
+    public void setIntrospection(Introspection introspection) {
+        this.introspection = introspection;
+    }
+
+    public DocumentCache getDocumentCache() {
+        return documentCache;
+    }
+
+    public void setDocumentCache(DocumentCache documentCache) {
+        this.documentCache = documentCache;
+    }
+
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    public void setEventBus(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    public static class DocumentCache {
+
+        private boolean enabled = true;
+        private int maxSize = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @param enabled whether parsed and validated queries should be cached
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        /**
+         * @param maxSize the number of distinct queries kept, the least recently used being evicted first
+         */
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+    }
+
+    public static class EventBus {
+
+        private boolean enabled = true;
+        private Broker broker = new Broker();
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @param enabled whether an event bus connecting mutations to subscriptions should be registered
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Broker getBroker() {
+            return broker;
+        }
+
+        public void setBroker(Broker broker) {
+            this.broker = broker;
+        }
+
+        public static class Broker {
+
+            private String host;
+            private int port = 7470;
+            private boolean embedded;
+
+            public String getHost() {
+                return host;
+            }
+
+            /**
+             * @param host the host of the TCP event broker, events only reach the local subscribers if not set
+             */
+            public void setHost(String host) {
+                this.host = host;
+            }
+
+            public int getPort() {
+                return port;
+            }
+
+            /**
+             * @param port the port of the TCP event broker
+             */
+            public void setPort(int port) {
+                this.port = port;
+            }
+
+            public boolean isEmbedded() {
+                return embedded;
+            }
+
+            /**
+             * @param embedded whether this node should run the TCP event broker itself, listening on the configured
+             *                 host and port (the loopback interface if no host is set)
+             */
+            public void setEmbedded(boolean embedded) {
+                this.embedded = embedded;
+            }
+        }
+    }
+
+    public static class Introspection {
+
+        private boolean enabled = true;
+        private boolean cacheEnabled;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * @param enabled whether the schema can be introspected and its definition downloaded,
+         *                worth disabling in production if no tooling needs it
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isCacheEnabled() {
+            return cacheEnabled;
+        }
+
+        /**
+         * @param cacheEnabled whether the results of introspection-only queries should be cached and served as they are,
+         *                     bypassing the executor (and with it the global context factory, deadlines and instrumentation)
+         */
+        public void setCacheEnabled(boolean cacheEnabled) {
+            this.cacheEnabled = cacheEnabled;
+        }
+    }
+
     public static class Relay {
 
         private boolean enabled;
@@ -150,6 +322,10 @@ public class SpqrProperties {
 
         private boolean enabled = true;
         private String endpoint = DEFAULT_ENDPOINT;
+        private Deadline deadline = new Deadline();
+        private boolean etagEnabled;
+        private Coalescing coalescing = new Coalescing();
+        private ResponseCache responseCache = new ResponseCache();
 
         public boolean isEnabled() {
             return enabled;
@@ -166,6 +342,183 @@ public class SpqrProperties {
         public void setEndpoint(String endpoint) {
             this.endpoint = endpoint;
         }
+
+        /**
+         * @return the endpoint with a leading slash, which request mappings don't need but URL patterns
+         * and path comparisons do
+         */
+        public String getEndpointPath() {
+            return endpoint.startsWith("/") ? endpoint : "/" + endpoint;
+        }
+
+        public boolean isEtagEnabled() {
+            return etagEnabled;
+        }
+
+        /**
+         * @param etagEnabled whether GET responses get an {@code ETag} computed from their body,
+         *                    enabling {@code 304 Not Modified} responses to conditional requests
+         */
+        public void setEtagEnabled(boolean etagEnabled) {
+            this.etagEnabled = etagEnabled;
+        }
+
+        public Deadline getDeadline() {
+            return deadline;
+        }
+
+        public void setDeadline(Deadline deadline) {
+            this.deadline = deadline;
+        }
+
+        public Coalescing getCoalescing() {
+            return coalescing;
+        }
+
+        public void setCoalescing(Coalescing coalescing) {
+            this.coalescing = coalescing;
+        }
+
+        public ResponseCache getResponseCache() {
+            return responseCache;
+        }
+
+        public void setResponseCache(ResponseCache responseCache) {
+            this.responseCache = responseCache;
+        }
+
+        public static class Deadline {
+
+            private long defaultMillis;
+            private long maxMillis;
+            private String header = "X-Request-Timeout";
+
+            public long getDefaultMillis() {
+                return defaultMillis;
+            }
+
+            /**
+             * @param defaultMillis if positive, the time an operation is allowed to take when the request doesn't specify one
+             */
+            public void setDefaultMillis(long defaultMillis) {
+                this.defaultMillis = defaultMillis;
+            }
+
+            public long getMaxMillis() {
+                return maxMillis;
+            }
+
+            /**
+             * @param maxMillis if positive, the upper bound for any operation's deadline, requested or default
+             */
+            public void setMaxMillis(long maxMillis) {
+                this.maxMillis = maxMillis;
+            }
+
+            public String getHeader() {
+                return header;
+            }
+
+            /**
+             * @param header the request header through which clients may specify a timeout in milliseconds,
+             *               which can only shorten the default one unless {@code maxMillis} is set
+             */
+            public void setHeader(String header) {
+                this.header = header;
+            }
+        }
+
+        public static class Coalescing {
+
+            private boolean enabled;
+            private String[] privateHeaders = new String[] {"Authorization", "Cookie"};
+            private String[] varyHeaders = new String[0];
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            /**
+             * @param enabled whether concurrent identical queries should share a single execution
+             */
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String[] getPrivateHeaders() {
+                return privateHeaders;
+            }
+
+            /**
+             * @param privateHeaders request headers whose presence excludes the request from coalescing
+             */
+            public void setPrivateHeaders(String[] privateHeaders) {
+                this.privateHeaders = privateHeaders;
+            }
+
+            public String[] getVaryHeaders() {
+                return varyHeaders;
+            }
+
+            /**
+             * @param varyHeaders request headers whose values must match for requests to be coalesced
+             */
+            public void setVaryHeaders(String[] varyHeaders) {
+                this.varyHeaders = varyHeaders;
+            }
+        }
+
+        public static class ResponseCache {
+
+            private boolean enabled;
+            private String directory;
+            private int maxSizeMb = 256;
+            private long ttlSeconds = 300;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            /**
+             * @param enabled whether publicly cacheable GET responses should be kept in the local disk cache
+             */
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getDirectory() {
+                return directory;
+            }
+
+            /**
+             * @param directory the directory holding the cached responses, a new temporary directory if not set
+             */
+            public void setDirectory(String directory) {
+                this.directory = directory;
+            }
+
+            public int getMaxSizeMb() {
+                return maxSizeMb;
+            }
+
+            /**
+             * @param maxSizeMb the total size of the cached responses, in megabytes, above which the least recently used are evicted
+             */
+            public void setMaxSizeMb(int maxSizeMb) {
+                this.maxSizeMb = maxSizeMb;
+            }
+
+            public long getTtlSeconds() {
+                return ttlSeconds;
+            }
+
+            /**
+             * @param ttlSeconds the longest a response is kept, even if its {@code max-age} is longer
+             */
+            public void setTtlSeconds(long ttlSeconds) {
+                this.ttlSeconds = ttlSeconds;
+            }
+        }
     }
 
     public static class WebSocket {
@@ -174,6 +527,7 @@ public class SpqrProperties {
         private String endpoint;
         private String[] allowedOrigins = new String[] {"*"};
         private KeepAlive keepAlive = new KeepAlive();
+        private Conflation conflation = new Conflation();
 
         public boolean isEnabled() {
             return enabled;
@@ -207,6 +561,14 @@ public class SpqrProperties {
             this.keepAlive = keepAlive;
         }
 
+        public Conflation getConflation() {
+            return conflation;
+        }
+
+        public void setConflation(Conflation conflation) {
+            this.conflation = conflation;
+        }
+
         public static class KeepAlive {
 
             private boolean enabled;
@@ -228,6 +590,135 @@ public class SpqrProperties {
                 this.intervalMillis = intervalMillis;
             }
         }
+
+        public static class Conflation {
+
+            private long windowMillis;
+            private Map<String, Long> fields = new HashMap<>();
+
+            public long getWindowMillis() {
+                return windowMillis;
+            }
+
+            /**
+             * @param windowMillis if positive, subscriptions only send the latest event received within each window
+             *                     of this many milliseconds, dropping the ones it superseded
+             */
+            public void setWindowMillis(long windowMillis) {
+                this.windowMillis = windowMillis;
+            }
+
+            public Map<String, Long> getFields() {
+                return fields;
+            }
+
+            /**
+             * @param fields the conflation windows, in milliseconds, of specific subscription fields,
+             *               overriding {@code windowMillis} (0 disables conflation for the field)
+             */
+            public void setFields(Map<String, Long> fields) {
+                this.fields = fields;
+            }
+        }
+    }
+
+    public static class Reactive {
+
+        private int fluxChunkSize;
+        private int fluxMaxSize;
+
+        public int getFluxChunkSize() {
+            return fluxChunkSize;
+        }
+
+        /**
+         * @param fluxChunkSize if positive, {@code Flux} fields are consumed in chunks of this many elements
+         *                      instead of requesting the whole stream at once
+         */
+        public void setFluxChunkSize(int fluxChunkSize) {
+            this.fluxChunkSize = fluxChunkSize;
+        }
+
+        public int getFluxMaxSize() {
+            return fluxMaxSize;
+        }
+
+        /**
+         * @param fluxMaxSize if positive, a {@code Flux} field producing more elements than this fails with an error
+         */
+        public void setFluxMaxSize(int fluxMaxSize) {
+            this.fluxMaxSize = fluxMaxSize;
+        }
+    }
+
+    public static class SpringData {
+
+        private boolean repositoryLoaders;
+        private Page page = new Page();
+
+        public boolean isRepositoryLoaders() {
+            return repositoryLoaders;
+        }
+
+        /**
+         * @param repositoryLoaders whether a batching {@code DataLoader} should be registered for each Spring Data
+         *                          {@code CrudRepository}, unless a custom {@code DataLoaderRegistryFactory} is present
+         */
+        public void setRepositoryLoaders(boolean repositoryLoaders) {
+            this.repositoryLoaders = repositoryLoaders;
+        }
+
+        public Page getPage() {
+            return page;
+        }
+
+        public void setPage(Page page) {
+            this.page = page;
+        }
+
+        public static class Page {
+
+            private int defaultSize = 10;
+            private int maxSize;
+            private OversizePolicy oversizePolicy = OversizePolicy.CLAMP;
+
+            public int getDefaultSize() {
+                return defaultSize;
+            }
+
+            /**
+             * @param defaultSize the page size used when the client specifies no pagination
+             */
+            public void setDefaultSize(int defaultSize) {
+                this.defaultSize = defaultSize;
+            }
+
+            public int getMaxSize() {
+                return maxSize;
+            }
+
+            /**
+             * @param maxSize if positive, the largest page size a client may request
+             */
+            public void setMaxSize(int maxSize) {
+                this.maxSize = maxSize;
+            }
+
+            public OversizePolicy getOversizePolicy() {
+                return oversizePolicy;
+            }
+
+            /**
+             * @param oversizePolicy whether requests for larger pages get reduced to the maximum or refused
+             */
+            public void setOversizePolicy(OversizePolicy oversizePolicy) {
+                this.oversizePolicy = oversizePolicy;
+            }
+
+            public enum OversizePolicy {
+                CLAMP, REJECT
+            }
+        }
     }
 
     public static class Gui {
@@ -282,16 +773,54 @@ public class SpqrProperties {
     public static class MultipartUpload {
 
         private boolean enabled;
+        private long maxFileSize = -1;
+        private int maxInMemorySize = 256 * 1024;
+        private int maxParts = -1;
 
         public boolean isEnabled() {
             return enabled;
         }
 
         /**
-         * @param enabled if enabled a multipart file upload will be activated
+         * @param enabled if enabled a multipart file upload will be activated. The files are parsed by the container,
+         *                which keeps those above {@code spring.servlet.multipart.file-size-threshold} on disk
          */
         public void setEnabled(boolean enabled) {
             this.enabled = enabled;
         }
+
+        public long getMaxFileSize() {
+            return maxFileSize;
+        }
+
+        /**
+         * @param maxFileSize the maximum size of a single uploaded file in bytes on WebFlux, or -1 for unlimited.
+         *                    On servlet containers, {@code spring.servlet.multipart.max-file-size} applies instead
+         */
+        public void setMaxFileSize(long maxFileSize) {
+            this.maxFileSize = maxFileSize;
+        }
+
+        public int getMaxInMemorySize() {
+            return maxInMemorySize;
+        }
+
+        /**
+         * @param maxInMemorySize the maximum size of a non-file part (such as the operations) in bytes on WebFlux, or -1 for unlimited
+         */
+        public void setMaxInMemorySize(int maxInMemorySize) {
+            this.maxInMemorySize = maxInMemorySize;
+        }
+
+        public int getMaxParts() {
+            return maxParts;
+        }
+
+        /**
+         * @param maxParts the maximum number of parts in a multipart request on WebFlux, or -1 for unlimited
+         */
+        public void setMaxParts(int maxParts) {
+            this.maxParts = maxParts;
+        }
     }
 }
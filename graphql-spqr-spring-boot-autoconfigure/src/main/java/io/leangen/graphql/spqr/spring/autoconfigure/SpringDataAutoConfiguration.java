@@ -1,9 +1,14 @@
 package io.leangen.graphql.spqr.spring.autoconfigure;
 
 import io.leangen.graphql.module.Module;
+import io.leangen.graphql.spqr.spring.modules.data.PageSizePolicy;
+import io.leangen.graphql.spqr.spring.modules.data.PageableAdapter;
+import io.leangen.graphql.spqr.spring.modules.data.RepositoryDataLoaderRegistryFactory;
 import io.leangen.graphql.spqr.spring.modules.data.SpringDataModule;
 import io.leangen.graphql.spqr.spring.modules.data.SpringDataRelayModule;
+import org.springframework.beans.factory.ListableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -14,13 +19,27 @@ public class SpringDataAutoConfiguration {
 
     @Bean
     @ConditionalOnProperty(name = "graphql.spqr.relay.spring-data-compatible", havingValue = "true")
-    public Internal<Module> springDataRelayModule() {
-        return new Internal<>(new SpringDataRelayModule());
+    public Internal<Module> springDataRelayModule(PageableAdapter pageableAdapter) {
+        return new Internal<>(new SpringDataRelayModule(pageableAdapter));
     }
 
     @Bean
     @ConditionalOnProperty(name = "graphql.spqr.relay.spring-data-compatible", havingValue = "false", matchIfMissing = true)
-    public Internal<Module> springDataModule() {
-        return new Internal<>(new SpringDataModule());
+    public Internal<Module> springDataModule(PageableAdapter pageableAdapter) {
+        return new Internal<>(new SpringDataModule(pageableAdapter));
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public PageableAdapter pageableAdapter(SpqrProperties config) {
+        SpqrProperties.SpringData.Page page = config.getSpringData().getPage();
+        return new PageableAdapter(page.getDefaultSize(), page.getMaxSize(), PageSizePolicy.valueOf(page.getOversizePolicy().name()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "graphql.spqr.spring-data.repository-loaders", havingValue = "true")
+    @ConditionalOnMissingBean(DataLoaderRegistryFactory.class)
+    public DataLoaderRegistryFactory repositoryDataLoaderRegistryFactory(ListableBeanFactory beanFactory) {
+        return new RepositoryDataLoaderRegistryFactory(beanFactory);
     }
 }
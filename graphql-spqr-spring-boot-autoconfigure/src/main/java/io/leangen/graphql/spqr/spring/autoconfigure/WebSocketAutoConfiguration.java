@@ -4,6 +4,7 @@ import graphql.GraphQL;
 import graphql.schema.GraphQLSchema;
 import io.leangen.graphql.spqr.spring.web.servlet.websocket.GraphQLWebSocketExecutor;
 import io.leangen.graphql.spqr.spring.web.apollo.PerConnectionApolloHandler;
+import io.leangen.graphql.spqr.spring.web.apollo.SubscriptionConflation;
 import io.leangen.graphql.spqr.spring.web.servlet.websocket.DefaultGraphQLExecutor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
@@ -33,14 +34,20 @@ public class WebSocketAutoConfiguration implements WebSocketConfigurer {
     private final GraphQL graphQL;
     private final SpqrProperties config;
     private final DataLoaderRegistryFactory dataLoaderRegistryFactory;
+    private final EntityCacheStats entityCacheStats;
+    private final DocumentCache documentCache;
 
     @Autowired
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     public WebSocketAutoConfiguration(GraphQL graphQL, SpqrProperties config,
-                                      Optional<DataLoaderRegistryFactory> dataLoaderRegistryFactory) {
+                                      Optional<DataLoaderRegistryFactory> dataLoaderRegistryFactory,
+                                      Optional<EntityCacheStats> entityCacheStats,
+                                      Optional<DocumentCache> documentCache) {
         this.graphQL = graphQL;
         this.config = config;
         this.dataLoaderRegistryFactory = dataLoaderRegistryFactory.orElse(null);
+        this.entityCacheStats = entityCacheStats.orElse(null);
+        this.documentCache = documentCache.orElse(null);
     }
 
     @Override
@@ -56,7 +63,7 @@ public class WebSocketAutoConfiguration implements WebSocketConfigurer {
     @Bean
     @ConditionalOnMissingBean
     public WebSocketContextFactory webSocketContextFactory() {
-        return params -> new DefaultGlobalContext<>(params.getNativeRequest());
+        return params -> new DefaultGlobalContext<>(params.getNativeRequest(), entityCacheStats);
     }
 
     @Bean
@@ -70,13 +77,16 @@ public class WebSocketAutoConfiguration implements WebSocketConfigurer {
     public PerConnectionApolloHandler webSocketHandler(GraphQLWebSocketExecutor executor) {
         boolean keepAliveEnabled = config.getWs().getKeepAlive().isEnabled();
         int keepAliveInterval = config.getWs().getKeepAlive().getIntervalMillis();
+        SpqrProperties.WebSocket.Conflation conflationConfig = config.getWs().getConflation();
+        SubscriptionConflation conflation = new SubscriptionConflation(conflationConfig.getWindowMillis(), conflationConfig.getFields(), documentCache);
         return new PerConnectionApolloHandler(graphQL, executor,
-                keepAliveEnabled ? defaultTaskScheduler() : null, keepAliveInterval);
+                keepAliveEnabled || conflation.isEnabled() ? defaultTaskScheduler() : null,
+                keepAliveEnabled, keepAliveInterval, conflation);
     }
 
     private TaskScheduler defaultTaskScheduler() {
         ThreadPoolTaskScheduler threadPoolScheduler = new ThreadPoolTaskScheduler();
-        threadPoolScheduler.setThreadNamePrefix("GraphQLWSKeepAlive-");
+        threadPoolScheduler.setThreadNamePrefix("GraphQLWSScheduler-");
         threadPoolScheduler.setPoolSize(Runtime.getRuntime().availableProcessors());
         threadPoolScheduler.setRemoveOnCancelPolicy(true);
         threadPoolScheduler.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
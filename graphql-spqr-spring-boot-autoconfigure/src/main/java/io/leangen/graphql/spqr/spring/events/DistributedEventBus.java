@@ -0,0 +1,66 @@
+package io.leangen.graphql.spqr.spring.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An {@link EventBus} that also relays the published events to other nodes through an {@link EventBusTransport}.
+ * Each event is serialized once when published, and deserialized once per subscribed type on each receiving node,
+ * so the nodes never need to recompute the events themselves.
+ * Events that can't be relayed are logged, and still reach the local subscribers.
+ */
+public class DistributedEventBus extends LocalEventBus implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(DistributedEventBus.class);
+
+    private final EventBusTransport transport;
+    private final ObjectMapper objectMapper;
+
+    public DistributedEventBus(EventBusTransport transport, ObjectMapper objectMapper) {
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        transport.start(this::receive);
+    }
+
+    @Override
+    public void publish(String topic, Object event) {
+        super.publish(topic, event);
+        //The local subscribers already got the event, so failing the publisher (e.g. a mutation) would only mislead it
+        try {
+            transport.send(topic, objectMapper.writeValueAsBytes(event));
+        } catch (IOException e) {
+            log.warn("Event published to topic {} could not be relayed to the other nodes", topic, e);
+        }
+    }
+
+    private void receive(String topic, byte[] payload) {
+        //Subscribers of the same type share a single deserialized instance
+        Map<Class<?>, Object> events = new HashMap<>(2);
+        for (Listener<?> listener : listeners(topic)) {
+            Object event = events.computeIfAbsent(listener.getType(), type -> deserialize(topic, payload, type));
+            if (event != null) {
+                listener.next(event);
+            }
+        }
+    }
+
+    private Object deserialize(String topic, byte[] payload, Class<?> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (IOException e) {
+            log.warn("Event received on topic {} could not be read as {}", topic, type.getName(), e);
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        transport.close();
+    }
+}
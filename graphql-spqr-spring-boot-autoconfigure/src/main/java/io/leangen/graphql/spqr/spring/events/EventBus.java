@@ -0,0 +1,28 @@
+package io.leangen.graphql.spqr.spring.events;
+
+import org.reactivestreams.Publisher;
+
+/**
+ * Connects the resolvers producing events (typically mutations) to the subscriptions consuming them.
+ * Mutations publish to a topic, and subscription resolvers return the publisher obtained for the same topic.
+ * Depending on the implementation, events may also reach subscribers connected to other nodes.
+ */
+public interface EventBus {
+
+    /**
+     * Delivers the event to all current subscribers of the topic
+     *
+     * @param topic the topic to publish to
+     * @param event the event, which must be serializable to JSON if the bus spans multiple nodes
+     */
+    void publish(String topic, Object event);
+
+    /**
+     * @param topic the topic to subscribe to
+     * @param type the type of the events to receive, events of other types published to the same topic are skipped
+     * @param <T> the event type
+     *
+     * @return a publisher of the events published to the topic from the moment of subscription on
+     */
+    <T> Publisher<T> subscribe(String topic, Class<T> type);
+}
@@ -0,0 +1,29 @@
+package io.leangen.graphql.spqr.spring.events;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.function.BiConsumer;
+
+/**
+ * The SPI connecting a {@link DistributedEventBus} to the other nodes, e.g. through a message broker.
+ * Events are exchanged as serialized payloads. A transport must deliver the events published by other nodes only,
+ * as the events published locally are delivered by the bus itself without a round-trip.
+ */
+public interface EventBusTransport extends Closeable {
+
+    /**
+     * Starts receiving the events published by other nodes
+     *
+     * @param receiver invoked with the topic and the payload of each received event
+     */
+    void start(BiConsumer<String, byte[]> receiver);
+
+    /**
+     * Sends the event to the other nodes. Invoked on the publisher's thread (e.g. the one resolving a mutation),
+     * so implementations should hand the event off rather than wait for the network.
+     *
+     * @param topic the topic the event was published to
+     * @param payload the serialized event
+     */
+    void send(String topic, byte[] payload) throws IOException;
+}
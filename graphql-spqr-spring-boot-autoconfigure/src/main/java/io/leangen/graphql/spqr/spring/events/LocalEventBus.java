@@ -0,0 +1,60 @@
+package io.leangen.graphql.spqr.spring.events;
+
+import io.leangen.graphql.spqr.spring.util.ConcurrentMultiMap;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+
+import java.util.Set;
+
+/**
+ * An {@link EventBus} delivering events to the subscribers within the same JVM
+ */
+public class LocalEventBus implements EventBus {
+
+    private final ConcurrentMultiMap<String, Listener<?>> listeners = new ConcurrentMultiMap<>();
+
+    @Override
+    public void publish(String topic, Object event) {
+        for (Listener<?> listener : listeners.get(topic)) {
+            if (listener.type.isInstance(event)) {
+                listener.next(event);
+            }
+        }
+    }
+
+    @Override
+    public <T> Publisher<T> subscribe(String topic, Class<T> type) {
+        return Flux.create(sink -> {
+            Listener<T> listener = new Listener<>(type, sink);
+            listeners.add(topic, listener);
+            sink.onDispose(() -> listeners.remove(topic, listener));
+        });
+    }
+
+    /**
+     * @return the listeners currently subscribed to the topic
+     */
+    protected Set<Listener<?>> listeners(String topic) {
+        return listeners.get(topic);
+    }
+
+    protected static final class Listener<T> {
+
+        private final Class<T> type;
+        private final FluxSink<T> sink;
+
+        Listener(Class<T> type, FluxSink<T> sink) {
+            this.type = type;
+            this.sink = sink;
+        }
+
+        public Class<T> getType() {
+            return type;
+        }
+
+        public void next(Object event) {
+            sink.next(type.cast(event));
+        }
+    }
+}
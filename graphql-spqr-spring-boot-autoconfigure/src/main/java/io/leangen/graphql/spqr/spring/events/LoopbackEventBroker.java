@@ -0,0 +1,46 @@
+package io.leangen.graphql.spqr.spring.events;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.BiConsumer;
+
+/**
+ * An in-memory broker connecting the transports of several {@link DistributedEventBus}es in the same JVM.
+ * Events are relayed synchronously, on the publishing thread. Meant for tests simulating multiple nodes.
+ */
+public class LoopbackEventBroker {
+
+    private final Set<Connection> connections = new CopyOnWriteArraySet<>();
+
+    /**
+     * @return a new transport connected to this broker
+     */
+    public EventBusTransport connect() {
+        return new Connection();
+    }
+
+    private class Connection implements EventBusTransport {
+
+        private volatile BiConsumer<String, byte[]> receiver;
+
+        @Override
+        public void start(BiConsumer<String, byte[]> receiver) {
+            this.receiver = receiver;
+            connections.add(this);
+        }
+
+        @Override
+        public void send(String topic, byte[] payload) {
+            for (Connection connection : connections) {
+                if (connection != this) {
+                    connection.receiver.accept(topic, payload);
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            connections.remove(this);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package io.leangen.graphql.spqr.spring.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * A minimal embedded broker relaying each event received from one {@link TcpEventTransport} to all the others.
+ * It keeps no state besides the open connections, so a restarted broker only loses the events in transit.
+ * Suited for tests and small deployments, larger ones should provide an {@link EventBusTransport} for a proper broker.
+ */
+public class TcpEventBroker implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(TcpEventBroker.class);
+
+    private final ServerSocket serverSocket;
+    private final Set<Connection> connections = new CopyOnWriteArraySet<>();
+
+    /**
+     * Starts a broker listening on the loopback interface
+     *
+     * @param port the port to listen on, 0 picks a free one
+     */
+    public TcpEventBroker(int port) throws IOException {
+        this(port, InetAddress.getLoopbackAddress());
+    }
+
+    public TcpEventBroker(int port, InetAddress address) throws IOException {
+        this.serverSocket = new ServerSocket(port, 50, address);
+        Thread acceptor = new Thread(this::accept, "GraphQLEventBroker-" + getPort());
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private void accept() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Connection connection = new Connection(serverSocket.accept());
+                connections.add(connection);
+                Thread reader = new Thread(connection::relay, "GraphQLEventBroker-" + connection.socket.getRemoteSocketAddress());
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("Event bus connection could not be accepted", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Connection connection : connections) {
+            connection.close();
+        }
+    }
+
+    private class Connection {
+
+        private final Socket socket;
+        private final DataInputStream input;
+        private final DataOutputStream output;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        void relay() {
+            try {
+                while (true) {
+                    String topic = input.readUTF();
+                    byte[] payload = TcpEventTransport.readPayload(input);
+                    for (Connection connection : connections) {
+                        if (connection != this) {
+                            connection.write(topic, payload);
+                        }
+                    }
+                }
+            } catch (EOFException e) {
+                //The node disconnected
+            } catch (IOException e) {
+                if (!socket.isClosed()) {
+                    log.warn("Event bus connection from {} failed", socket.getRemoteSocketAddress(), e);
+                }
+            } finally {
+                close();
+            }
+        }
+
+        void write(String topic, byte[] payload) {
+            try {
+                synchronized (output) {
+                    TcpEventTransport.writeFrame(output, topic, payload);
+                }
+            } catch (IOException e) {
+                close();
+            }
+        }
+
+        void close() {
+            connections.remove(this);
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package io.leangen.graphql.spqr.spring.events;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.Socket;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * An {@link EventBusTransport} exchanging events through a {@link TcpEventBroker}.
+ * Each event is sent as a frame made of the topic, the payload length and the payload.
+ * <p>
+ * The connection is established in the background once the transport is started, and re-established with
+ * an exponential backoff whenever it's lost, so the broker may be started after the nodes or be restarted.
+ * Sending never blocks the publisher: events are queued and written by a dedicated thread. While the broker is
+ * unreachable, the queue holds up to {@value #MAX_PENDING_EVENTS} events, and further events are dropped.
+ */
+public class TcpEventTransport implements EventBusTransport {
+
+    private static final Logger log = LoggerFactory.getLogger(TcpEventTransport.class);
+
+    static final int MAX_PAYLOAD_SIZE = 16 * 1024 * 1024;
+    static final int MAX_PENDING_EVENTS = 10_000;
+    private static final long MIN_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final String host;
+    private final int port;
+    private final BlockingDeque<Frame> outbox = new LinkedBlockingDeque<>(MAX_PENDING_EVENTS);
+    private volatile Socket socket;
+    private volatile Thread connector;
+    private volatile boolean closed;
+
+    public TcpEventTransport(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    @Override
+    public void start(BiConsumer<String, byte[]> receiver) {
+        Thread connector = new Thread(() -> connect(receiver), "GraphQLEventTransport-" + host + ":" + port);
+        connector.setDaemon(true);
+        this.connector = connector;
+        connector.start();
+    }
+
+    private void connect(BiConsumer<String, byte[]> receiver) {
+        long backoff = MIN_BACKOFF_MILLIS;
+        while (!closed) {
+            try (Socket socket = new Socket(host, port)) {
+                socket.setTcpNoDelay(true);
+                this.socket = socket;
+                if (closed) {
+                    return;
+                }
+                log.info("Connected to the event broker at {}:{}", host, port);
+                backoff = MIN_BACKOFF_MILLIS;
+                Thread writer = new Thread(() -> write(socket), "GraphQLEventTransportWriter-" + host + ":" + port);
+                writer.setDaemon(true);
+                writer.start();
+                receive(socket, receiver);
+            } catch (IOException e) {
+                if (!closed) {
+                    log.warn("Connection to the event broker at {}:{} failed ({}), retrying in {} ms", host, port, e.toString(), backoff);
+                }
+            }
+            this.socket = null;
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                return;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+        }
+    }
+
+    private void receive(Socket socket, BiConsumer<String, byte[]> receiver) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        try {
+            while (true) {
+                String topic = input.readUTF();
+                receiver.accept(topic, readPayload(input));
+            }
+        } catch (EOFException e) {
+            if (!closed) {
+                log.warn("Event broker at {}:{} closed the connection", host, port);
+            }
+        }
+    }
+
+    //Runs for as long as the given connection is open, leaving the events it couldn't write to the next one
+    private void write(Socket socket) {
+        try {
+            DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            while (!socket.isClosed()) {
+                Frame frame = outbox.poll(1, TimeUnit.SECONDS);
+                if (frame == null) {
+                    continue;
+                }
+                try {
+                    writeFrame(output, frame.topic, frame.payload);
+                } catch (IOException e) {
+                    outbox.offerFirst(frame);
+                    throw e;
+                }
+            }
+        } catch (IOException e) {
+            try {
+                //Makes the reader notice, so that the connection is re-established
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        } catch (InterruptedException ignored) {
+        }
+    }
+
+    @Override
+    public void send(String topic, byte[] payload) {
+        if (!outbox.offer(new Frame(topic, payload))) {
+            log.warn("Event published to topic {} was dropped, as the event broker at {}:{} is not keeping up", topic, host, port);
+        }
+    }
+
+    /**
+     * @return whether the transport is currently connected to the broker
+     */
+    public boolean isConnected() {
+        Socket socket = this.socket;
+        return socket != null && !socket.isClosed();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        Thread connector = this.connector;
+        if (connector != null) {
+            connector.interrupt();
+        }
+        Socket socket = this.socket;
+        if (socket != null) {
+            socket.close();
+        }
+    }
+
+    static void writeFrame(DataOutputStream output, String topic, byte[] payload) throws IOException {
+        output.writeUTF(topic);
+        output.writeInt(payload.length);
+        output.write(payload);
+        output.flush();
+    }
+
+    static byte[] readPayload(DataInputStream input) throws IOException {
+        int length = input.readInt();
+        if (length < 0 || length > MAX_PAYLOAD_SIZE) {
+            throw new IOException("Invalid event payload length: " + length);
+        }
+        byte[] payload = new byte[length];
+        input.readFully(payload);
+        return payload;
+    }
+
+    private static class Frame {
+
+        private final String topic;
+        private final byte[] payload;
+
+        Frame(String topic, byte[] payload) {
+            this.topic = topic;
+            this.payload = payload;
+        }
+    }
+}
@@ -14,12 +14,20 @@ public interface DefaultValueSchemaTransformer extends SchemaTransformer {
     @Override
     default GraphQLArgument transformArgument(GraphQLArgument argument, OperationArgument operationArgument, OperationMapper operationMapper, BuildContext buildContext) {
         if (supports(operationArgument.getJavaType()) && !(argument.getType() instanceof GraphQLNonNull) && argument.getDefaultValue() == null) {
-            return argument.transform(builder -> builder.defaultValue(getDefaultValue()));
+            return argument.transform(builder -> builder.defaultValue(getDefaultValue(operationArgument.getJavaType())));
         }
         return argument;
     }
 
     Object getDefaultValue();
 
+    /**
+     * @param type the type of the argument, including any annotations customizing the default
+     * @return the default value for an argument of the given type
+     */
+    default Object getDefaultValue(AnnotatedType type) {
+        return getDefaultValue();
+    }
+
     boolean supports(AnnotatedType type);
 }
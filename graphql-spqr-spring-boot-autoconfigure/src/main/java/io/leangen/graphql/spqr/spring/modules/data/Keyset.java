@@ -0,0 +1,149 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keyset (seek) pagination request: the page size, the sort and, past the first page, the sort key values of the
+ * last row already seen. Instead of skipping over {@code OFFSET} rows, the repository is expected to restrict the
+ * query by {@link #getSeekPredicate()} and fetch the first page of {@link #toPageable()}. A {@code Slice} fetched
+ * like that is turned into a connection whose cursors encode the sort key values of each row.
+ * <p>For the pages to be stable, the sort must be total, i.e. end with a unique property such as the id,
+ * and the sort keys must not be null. Clients that specify no sort get {@link #DEFAULT_SORT}.</p>
+ */
+public class Keyset {
+
+    public static final Sort DEFAULT_SORT = Sort.by("id");
+
+    private final int size;
+    private final Sort sort;
+    private final List<Object> after;
+
+    Keyset(int size, Sort sort, List<Object> after) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Keyset page size must be positive");
+        }
+        //Without sort keys every cursor would be empty and seek nowhere, serving the first page over and over
+        if (Objects.requireNonNull(sort).isUnsorted()) {
+            throw new IllegalArgumentException("Keyset pagination requires a sort");
+        }
+        this.size = size;
+        this.sort = sort;
+        this.after = after;
+    }
+
+    public static Keyset first(int size, Sort sort) {
+        return new Keyset(size, sort, null);
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public boolean isFirstPage() {
+        return after == null;
+    }
+
+    /**
+     * @return the sort key values of the last row seen, in sort order (empty for the first page)
+     */
+    public List<Object> getAfter() {
+        return after == null ? Collections.emptyList() : Collections.unmodifiableList(after);
+    }
+
+    /**
+     * The condition selecting the rows following the last one seen, in disjunctive normal form:
+     * a row qualifies if it satisfies all the conditions of any one of the inner lists.
+     * E.g. for {@code ORDER BY a ASC, id ASC} it's {@code (a > :a) OR (a = :a AND id > :id)}.
+     *
+     * @return the seek predicate, or an empty list if this is the first page
+     */
+    public List<List<Condition>> getSeekPredicate() {
+        if (after == null) {
+            return Collections.emptyList();
+        }
+        List<List<Condition>> predicate = new ArrayList<>();
+        List<Condition> equalities = new ArrayList<>();
+        Iterator<Object> values = after.iterator();
+        for (Sort.Order order : sort) {
+            Object value = values.next();
+            List<Condition> conjunction = new ArrayList<>(equalities);
+            conjunction.add(new Condition(order.getProperty(), order.isAscending() ? Operator.GREATER_THAN : Operator.LESS_THAN, value));
+            predicate.add(Collections.unmodifiableList(conjunction));
+            equalities.add(new Condition(order.getProperty(), Operator.EQUAL, value));
+        }
+        return Collections.unmodifiableList(predicate);
+    }
+
+    /**
+     * @return the pageable to fetch the (seek-restricted) rows with, always the first page of the requested size
+     */
+    public Pageable toPageable() {
+        return new KeysetPageRequest(this);
+    }
+
+    public enum Operator {
+        EQUAL, GREATER_THAN, LESS_THAN
+    }
+
+    public static class Condition {
+
+        private final String property;
+        private final Operator operator;
+        private final Object value;
+
+        Condition(String property, Operator operator, Object value) {
+            this.property = property;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public Operator getOperator() {
+            return operator;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+    }
+
+    static class KeysetPageRequest extends PageRequest {
+
+        private final Keyset keyset;
+
+        KeysetPageRequest(Keyset keyset) {
+            super(0, keyset.size, keyset.sort);
+            this.keyset = keyset;
+        }
+
+        Keyset getKeyset() {
+            return keyset;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof KeysetPageRequest && super.equals(obj)
+                    && Objects.equals(keyset.after, ((KeysetPageRequest) obj).keyset.after);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * super.hashCode() + Objects.hashCode(keyset.after);
+        }
+    }
+}
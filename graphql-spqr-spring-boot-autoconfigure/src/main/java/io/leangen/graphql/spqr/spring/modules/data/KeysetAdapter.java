@@ -0,0 +1,55 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import io.leangen.graphql.execution.GlobalEnvironment;
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import io.leangen.graphql.generator.mapping.AbstractTypeAdapter;
+import io.leangen.graphql.metadata.strategy.value.ValueMapper;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.AnnotatedType;
+
+public class KeysetAdapter extends AbstractTypeAdapter<Keyset, KeysetPagination> implements DefaultValueSchemaTransformer {
+
+    private final PageableAdapter limits;
+
+    public KeysetAdapter() {
+        this(new PageableAdapter());
+    }
+
+    /**
+     * @param limits the adapter whose page size limits (and counters) apply to keyset pages too
+     */
+    public KeysetAdapter(PageableAdapter limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public Keyset convertInput(KeysetPagination substitute, AnnotatedType type, GlobalEnvironment environment, ValueMapper valueMapper) {
+        return substitute.toKeyset(substitute.first != null ? limits.limit(substitute.first, type) : defaultSize(type));
+    }
+
+    @Override
+    public KeysetPagination convertOutput(Keyset original, AnnotatedType type, ResolutionEnvironment resolutionEnvironment) {
+        return new KeysetPagination(original);
+    }
+
+    @Override
+    public Object getDefaultValue() {
+        return getDefaultValue(null);
+    }
+
+    @Override
+    public Object getDefaultValue(AnnotatedType type) {
+        return Keyset.first(defaultSize(type), Keyset.DEFAULT_SORT);
+    }
+
+    private int defaultSize(AnnotatedType type) {
+        Object pageable = type != null ? limits.getDefaultValue(type) : limits.getDefaultValue();
+        return ((Pageable) pageable).getPageSize();
+    }
+
+    @Override
+    public boolean supports(AnnotatedType type) {
+        return Keyset.class.equals(type.getType());
+    }
+}
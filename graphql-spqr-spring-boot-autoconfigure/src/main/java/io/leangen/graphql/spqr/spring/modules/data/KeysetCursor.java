@@ -0,0 +1,152 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import org.springframework.data.domain.Sort;
+
+import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Encodes the sort key values of a row into an opaque cursor and back.
+ * Only a fixed set of value types is supported, each tagged in the cursor, so decoding never instantiates
+ * anything but those types, whatever the client sends.
+ */
+class KeysetCursor {
+
+    private enum ValueType {
+        STRING('s', String.class, value -> value),
+        INTEGER('i', Integer.class, Integer::valueOf),
+        LONG('l', Long.class, Long::valueOf),
+        SHORT('h', Short.class, Short::valueOf),
+        BYTE('b', Byte.class, Byte::valueOf),
+        DOUBLE('d', Double.class, Double::valueOf),
+        FLOAT('f', Float.class, Float::valueOf),
+        BOOLEAN('t', Boolean.class, Boolean::valueOf),
+        BIG_DECIMAL('D', BigDecimal.class, BigDecimal::new),
+        BIG_INTEGER('I', BigInteger.class, BigInteger::new),
+        UUID_VALUE('u', UUID.class, UUID::fromString),
+        INSTANT('T', Instant.class, Instant::parse),
+        LOCAL_DATE('a', LocalDate.class, LocalDate::parse),
+        LOCAL_DATE_TIME('A', LocalDateTime.class, LocalDateTime::parse),
+        OFFSET_DATE_TIME('o', OffsetDateTime.class, OffsetDateTime::parse),
+        ZONED_DATE_TIME('z', ZonedDateTime.class, ZonedDateTime::parse),
+        DATE('j', Date.class, value -> new Date(Long.parseLong(value)));
+
+        private final char tag;
+        private final Class<?> type;
+        private final Function<String, Object> parser;
+
+        ValueType(char tag, Class<?> type, Function<String, Object> parser) {
+            this.tag = tag;
+            this.type = type;
+            this.parser = parser;
+        }
+
+        String format(Object value) {
+            return value instanceof Date ? String.valueOf(((Date) value).getTime()) : value.toString();
+        }
+
+        static ValueType of(Class<?> type) {
+            for (ValueType valueType : values()) {
+                if (valueType.type.isAssignableFrom(type)) {
+                    return valueType;
+                }
+            }
+            throw new IllegalArgumentException(type.getName() + " can not be used as a keyset pagination sort key");
+        }
+
+        static ValueType of(char tag) {
+            for (ValueType valueType : values()) {
+                if (valueType.tag == tag) {
+                    return valueType;
+                }
+            }
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+    }
+
+    static String encode(Sort sort, Function<String, Object> propertyValues) {
+        StringBuilder cursor = new StringBuilder();
+        for (Sort.Order order : sort) {
+            Object value = propertyValues.apply(order.getProperty());
+            if (value == null) {
+                throw new IllegalStateException("Keyset pagination sort key " + order.getProperty() + " must not be null");
+            }
+            ValueType type = ValueType.of(value.getClass());
+            if (cursor.length() > 0) {
+                cursor.append('&');
+            }
+            cursor.append(urlEncode(order.getProperty())).append('=').append(type.tag).append(urlEncode(type.format(value)));
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the sort key values in the order of the given sort
+     * @throws IllegalArgumentException if the cursor is malformed or was created for a different sort
+     */
+    static List<Object> decode(String cursor, Sort sort) {
+        if (cursor.isEmpty()) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        String[] entries = decoded.split("&");
+        List<Sort.Order> orders = sort.stream().collect(Collectors.toList());
+        if (entries.length != orders.size()) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        List<Object> values = new ArrayList<>(entries.length);
+        for (int i = 0; i < entries.length; i++) {
+            int separator = entries[i].indexOf('=');
+            if (separator < 0 || separator == entries[i].length() - 1) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            if (!urlDecode(entries[i].substring(0, separator)).equals(orders.get(i).getProperty())) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
+            ValueType type = ValueType.of(entries[i].charAt(separator + 1));
+            try {
+                values.add(type.parser.apply(urlDecode(entries[i].substring(separator + 2))));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Malformed cursor", e);
+            }
+        }
+        return values;
+    }
+
+    private static String urlEncode(String value) {
+        try {
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String urlDecode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import io.leangen.graphql.annotations.GraphQLQuery;
+import io.leangen.graphql.annotations.types.GraphQLType;
+import org.springframework.data.domain.Sort;
+
+import java.util.Iterator;
+
+@GraphQLType(name = "Keyset")
+public class KeysetPagination {
+
+    @GraphQLQuery
+    public Integer first;
+    @GraphQLQuery
+    public String after;
+    @GraphQLQuery
+    public Sorting sort;
+
+    public KeysetPagination() {
+    }
+
+    KeysetPagination(Keyset keyset) {
+        this.first = keyset.getSize();
+        this.sort = new Sorting(keyset.getSort());
+        if (!keyset.isFirstPage()) {
+            //Values are requested in sort order, matching the order they're kept in
+            Iterator<Object> values = keyset.getAfter().iterator();
+            this.after = KeysetCursor.encode(keyset.getSort(), property -> values.next());
+        }
+    }
+
+    Keyset toKeyset(int size) {
+        Sort sort = this.sort != null ? this.sort.toSort() : Sort.unsorted();
+        if (sort.isUnsorted()) {
+            sort = Keyset.DEFAULT_SORT;
+        }
+        return new Keyset(size, sort, after != null ? KeysetCursor.decode(after, sort) : null);
+    }
+}
@@ -0,0 +1,41 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+
+/**
+ * Tells a resolver returning a {@code Page} or {@code Slice} which parts of it the client actually selected.
+ * Inject it by declaring a {@code @GraphQLEnvironment PageHint} parameter, and skip the count query
+ * (e.g. by calling a {@code Slice}-returning repository method instead) when {@link #isCountRequired()} is false.
+ */
+public class PageHint {
+
+    //Page fields that can only be computed knowing the total number of elements.
+    //A Slice knows whether there is a next one (hasNext, last, nextPageable) without counting
+    private static final String[] COUNT_FIELDS = {"totalElements", "totalPages", "totalCount"};
+
+    private static final PageHint COUNT_REQUIRED = new PageHint(true);
+    private static final PageHint COUNT_NOT_REQUIRED = new PageHint(false);
+
+    private final boolean countRequired;
+
+    private PageHint(boolean countRequired) {
+        this.countRequired = countRequired;
+    }
+
+    static PageHint of(DataFetchingFieldSelectionSet selectionSet) {
+        for (String field : COUNT_FIELDS) {
+            //The count may also be selected from a nested object, e.g. a connection's pageInfo
+            if (selectionSet.contains(field) || selectionSet.contains("*/" + field)) {
+                return COUNT_REQUIRED;
+            }
+        }
+        return COUNT_NOT_REQUIRED;
+    }
+
+    /**
+     * @return whether any of the selected fields depends on the total number of elements
+     */
+    public boolean isCountRequired() {
+        return countRequired;
+    }
+}
@@ -0,0 +1,21 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import io.leangen.graphql.annotations.GraphQLEnvironment;
+import io.leangen.graphql.generator.mapping.ArgumentInjector;
+import io.leangen.graphql.generator.mapping.ArgumentInjectorParams;
+
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Parameter;
+
+public class PageHintInjector implements ArgumentInjector {
+
+    @Override
+    public Object getArgumentValue(ArgumentInjectorParams params) {
+        return PageHint.of(params.getResolutionEnvironment().dataFetchingEnvironment.getSelectionSet());
+    }
+
+    @Override
+    public boolean supports(AnnotatedType type, Parameter parameter) {
+        return PageHint.class.equals(type.getType()) && parameter != null && parameter.isAnnotationPresent(GraphQLEnvironment.class);
+    }
+}
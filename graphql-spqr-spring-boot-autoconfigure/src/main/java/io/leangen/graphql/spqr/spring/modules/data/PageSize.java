@@ -0,0 +1,24 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the globally configured page size limits for a single {@code Pageable} argument
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.PARAMETER, ElementType.TYPE_USE})
+public @interface PageSize {
+
+    /**
+     * @return the page size used when the client specifies no pagination (0 to use the global default)
+     */
+    int defaultSize() default 0;
+
+    /**
+     * @return the largest page size a client may request (0 to use the global maximum)
+     */
+    int maxSize() default 0;
+}
@@ -0,0 +1,17 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+/**
+ * What to do with a request for a larger page than the maximum allowed
+ */
+public enum PageSizePolicy {
+
+    /**
+     * Reduce the page size to the maximum
+     */
+    CLAMP,
+
+    /**
+     * Fail the request
+     */
+    REJECT
+}
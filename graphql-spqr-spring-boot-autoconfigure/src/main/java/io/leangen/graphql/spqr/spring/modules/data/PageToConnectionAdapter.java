@@ -1,5 +1,6 @@
 package io.leangen.graphql.spqr.spring.modules.data;
 
+import graphql.relay.DefaultConnectionCursor;
 import io.leangen.geantyref.GenericTypeReflector;
 import io.leangen.geantyref.TypeFactory;
 import io.leangen.graphql.execution.ResolutionEnvironment;
@@ -8,6 +9,7 @@ import io.leangen.graphql.generator.mapping.OutputConverter;
 import io.leangen.graphql.generator.mapping.common.AbstractTypeSubstitutingMapper;
 import io.leangen.graphql.util.ClassUtils;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.util.DirectFieldAccessFallbackBeanWrapper;
 
 import java.lang.reflect.AnnotatedType;
 
@@ -16,6 +18,13 @@ public class PageToConnectionAdapter<T> extends AbstractTypeSubstitutingMapper<i
 
     @Override
     public io.leangen.graphql.execution.relay.Page<T> convertOutput(Slice<T> original, AnnotatedType type, ResolutionEnvironment resolutionEnvironment) {
+        if (original.getPageable() instanceof Keyset.KeysetPageRequest) {
+            Keyset keyset = ((Keyset.KeysetPageRequest) original.getPageable()).getKeyset();
+            return PageFactory.createPage(original.getContent(),
+                    (node, index) -> new DefaultConnectionCursor(
+                            KeysetCursor.encode(keyset.getSort(), new DirectFieldAccessFallbackBeanWrapper(node)::getPropertyValue)),
+                    original.hasNext(), !keyset.isFirstPage());
+        }
         return PageFactory.createOffsetBasedPage(original.getContent(), original.getPageable().getOffset(),
                 original.hasNext(), original.hasPrevious());
     }
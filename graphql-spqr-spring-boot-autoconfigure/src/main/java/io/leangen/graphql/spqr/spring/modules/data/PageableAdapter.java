@@ -12,6 +12,7 @@ import java.lang.reflect.AnnotatedType;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 public class PageableAdapter extends AbstractTypeAdapter<Pageable, Pagination> implements DefaultValueSchemaTransformer {
 
@@ -19,9 +20,32 @@ public class PageableAdapter extends AbstractTypeAdapter<Pageable, Pagination> i
             Pageable.class, PageRequest.class, AbstractPageRequest.class, Pageable.unpaged().getClass()
     ));
 
+    private final int defaultSize;
+    private final int maxSize;
+    private final PageSizePolicy oversizePolicy;
+    private final LongAdder clamped = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public PageableAdapter() {
+        this(10, 0, PageSizePolicy.CLAMP);
+    }
+
+    /**
+     * @param defaultSize the page size used when the client specifies no pagination
+     * @param maxSize the largest page size a client may request (0 means unlimited)
+     * @param oversizePolicy what to do with requests for larger pages than allowed
+     */
+    public PageableAdapter(int defaultSize, int maxSize, PageSizePolicy oversizePolicy) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+        this.oversizePolicy = oversizePolicy;
+    }
+
     @Override
     public Pageable convertInput(Pagination substitute, AnnotatedType type, GlobalEnvironment environment, ValueMapper valueMapper) {
-        return substitute.toPageable();
+        Pageable pageable = substitute.toPageable();
+        int size = limit(pageable.getPageSize(), type);
+        return size == pageable.getPageSize() ? pageable : PageRequest.of(pageable.getPageNumber(), size, pageable.getSort());
     }
 
     @Override
@@ -31,7 +55,15 @@ public class PageableAdapter extends AbstractTypeAdapter<Pageable, Pagination> i
 
     @Override
     public Object getDefaultValue() {
-        return PageRequest.of(0, 10);
+        return PageRequest.of(0, maxSize > 0 ? Math.min(defaultSize, maxSize) : defaultSize);
+    }
+
+    @Override
+    public Object getDefaultValue(AnnotatedType type) {
+        PageSize pageSize = type.getAnnotation(PageSize.class);
+        int size = pageSize != null && pageSize.defaultSize() > 0 ? pageSize.defaultSize() : defaultSize;
+        int max = maxSize(type);
+        return PageRequest.of(0, max > 0 ? Math.min(size, max) : size);
     }
 
     @Override
@@ -39,4 +71,42 @@ public class PageableAdapter extends AbstractTypeAdapter<Pageable, Pagination> i
     public boolean supports(AnnotatedType type) {
         return supportedClasses.contains(type.getType());
     }
+
+    /**
+     * @return the number of requests whose page size was reduced to the maximum
+     */
+    public long getClampedCount() {
+        return clamped.sum();
+    }
+
+    /**
+     * @return the number of requests refused for asking for too large a page
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Applies the oversize policy to the requested page size
+     *
+     * @return the page size to use
+     * @throws IllegalArgumentException if the size exceeds the maximum and the policy is to reject such requests
+     */
+    int limit(int requestedSize, AnnotatedType type) {
+        int max = maxSize(type);
+        if (max <= 0 || requestedSize <= max) {
+            return requestedSize;
+        }
+        if (oversizePolicy == PageSizePolicy.REJECT) {
+            rejected.increment();
+            throw new IllegalArgumentException("Requested page size " + requestedSize + " exceeds the maximum of " + max);
+        }
+        clamped.increment();
+        return max;
+    }
+
+    private int maxSize(AnnotatedType type) {
+        PageSize pageSize = type.getAnnotation(PageSize.class);
+        return pageSize != null && pageSize.maxSize() > 0 ? pageSize.maxSize() : maxSize;
+    }
 }
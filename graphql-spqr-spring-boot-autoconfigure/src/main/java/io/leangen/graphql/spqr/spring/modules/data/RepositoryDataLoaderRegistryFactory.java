@@ -0,0 +1,114 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import io.leangen.graphql.spqr.spring.autoconfigure.DataLoaderRegistryFactory;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.core.EntityInformation;
+import org.springframework.data.repository.support.Repositories;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Registers a batching {@link DataLoader} for each Spring Data {@link CrudRepository} in the application context.
+ * Each loader is backed by {@link CrudRepository#findAllById(Iterable)}, so all the ids requested while resolving
+ * one level of the query get fetched together, and each entity is fetched at most once per operation.
+ * <p>Loaders are registered under {@link #loaderName(Class)} of the repository's domain type, e.g.
+ * {@code env.dataFetchingEnvironment.getDataLoader(loaderName(Book.class)).load(bookId)}.</p>
+ */
+public class RepositoryDataLoaderRegistryFactory implements DataLoaderRegistryFactory {
+
+    private final ListableBeanFactory beanFactory;
+    private volatile List<RepositoryLoader> loaders;
+
+    public RepositoryDataLoaderRegistryFactory(ListableBeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    public static String loaderName(Class<?> domainType) {
+        return domainType.getName();
+    }
+
+    @Override
+    public DataLoaderRegistry createDataLoaderRegistry() {
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        for (RepositoryLoader loader : getLoaders()) {
+            registry.register(loader.name, loader.create());
+        }
+        return registry;
+    }
+
+    //Repository discovery is only safe once the context is fully initialized, so it's deferred until the first operation
+    private List<RepositoryLoader> getLoaders() {
+        List<RepositoryLoader> loaders = this.loaders;
+        if (loaders == null) {
+            synchronized (this) {
+                loaders = this.loaders;
+                if (loaders == null) {
+                    loaders = this.loaders = findLoaders();
+                }
+            }
+        }
+        return loaders;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<RepositoryLoader> findLoaders() {
+        Repositories repositories = new Repositories(beanFactory);
+        List<RepositoryLoader> loaders = new ArrayList<>();
+        for (Class<?> domainType : repositories) {
+            repositories.getRepositoryFor(domainType)
+                    .filter(repository -> repository instanceof CrudRepository)
+                    .ifPresent(repository -> loaders.add(new RepositoryLoader(loaderName(domainType),
+                            (CrudRepository<Object, Object>) repository,
+                            (EntityInformation<Object, Object>) repositories.getEntityInformationFor(domainType))));
+        }
+        return Collections.unmodifiableList(loaders);
+    }
+
+    static class RepositoryLoader {
+
+        private final String name;
+        private final CrudRepository<Object, Object> repository;
+        private final EntityInformation<Object, Object> entityInformation;
+        private final ConversionService conversionService;
+
+        RepositoryLoader(String name, CrudRepository<Object, Object> repository, EntityInformation<Object, Object> entityInformation) {
+            this.name = name;
+            this.repository = repository;
+            this.entityInformation = entityInformation;
+            this.conversionService = DefaultConversionService.getSharedInstance();
+        }
+
+        DataLoader<Object, Object> create() {
+            return DataLoader.newMappedDataLoader(keys -> {
+                //Keys may come in a different type than the repository's ids (e.g. Integer for Long),
+                //and the results have to be keyed by the ids as requested for the loader to find them
+                Map<Object, Object> ids = new HashMap<>(keys.size());
+                for (Object key : keys) {
+                    ids.put(key, conversionService.convert(key, entityInformation.getIdType()));
+                }
+                Map<Object, Object> entitiesById = new HashMap<>(keys.size());
+                repository.findAllById(new HashSet<>(ids.values()))
+                        .forEach(entity -> entitiesById.put(entityInformation.getId(entity), entity));
+                Map<Object, Object> entities = new HashMap<>(keys.size());
+                ids.forEach((key, id) -> {
+                    Object entity = entitiesById.get(id);
+                    if (entity != null) {
+                        entities.put(key, entity);
+                    }
+                });
+                return CompletableFuture.completedFuture(entities);
+            });
+        }
+    }
+}
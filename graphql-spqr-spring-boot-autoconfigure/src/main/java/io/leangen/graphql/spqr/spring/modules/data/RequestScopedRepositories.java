@@ -0,0 +1,17 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import io.leangen.graphql.spqr.spring.autoconfigure.DefaultGlobalContext;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.Optional;
+
+/**
+ * Repository lookups deduplicated through the operation's entity cache (see {@link DefaultGlobalContext#getEntity}),
+ * e.g. {@code findById(context, bookRepository, Book.class, id)} with the context injected via {@code @GraphQLRootContext}.
+ */
+public class RequestScopedRepositories {
+
+    public static <T, ID> Optional<T> findById(DefaultGlobalContext<?> context, CrudRepository<T, ID> repository, Class<T> type, ID id) {
+        return Optional.ofNullable(context.getEntity(type, id, () -> repository.findById(id).orElse(null)));
+    }
+}
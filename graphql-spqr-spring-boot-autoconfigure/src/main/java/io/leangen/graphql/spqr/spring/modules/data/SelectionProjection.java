@@ -0,0 +1,34 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a {@code @GraphQLEnvironment Class<?>} resolver parameter to receive the narrowest of the given
+ * Spring Data projections (interface or DTO) that covers all the fields the client selected, or the fallback
+ * if none does. The class is meant to be passed to a repository method with a dynamic projection parameter,
+ * e.g. {@code <T> List<T> findByAuthor(String author, Class<T> type)}, so that only the needed columns get fetched.
+ * <p>Fields are matched against projection properties by name.</p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface SelectionProjection {
+
+    /**
+     * @return the candidate projections
+     */
+    Class<?>[] value();
+
+    /**
+     * @return the type to use when no candidate covers the selection, usually the entity itself
+     */
+    Class<?> fallback();
+
+    /**
+     * @return the path, relative to the field, of the selection the projected entities are in,
+     * e.g. {@code content} for a {@code Page} or {@code edges/node} for a connection
+     */
+    String path() default "";
+}
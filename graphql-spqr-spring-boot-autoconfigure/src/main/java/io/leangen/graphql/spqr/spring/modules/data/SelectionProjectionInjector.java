@@ -0,0 +1,150 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import io.leangen.graphql.annotations.GraphQLEnvironment;
+import io.leangen.graphql.generator.mapping.ArgumentInjector;
+import io.leangen.graphql.generator.mapping.ArgumentInjectorParams;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.AnnotatedType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SelectionProjectionInjector implements ArgumentInjector {
+
+    private final Map<Class<?>, Set<String>> properties = new ConcurrentHashMap<>();
+
+    @Override
+    public Object getArgumentValue(ArgumentInjectorParams params) {
+        SelectionProjection projection = params.getParameter().getAnnotation(SelectionProjection.class);
+        return select(projection, params.getResolutionEnvironment().dataFetchingEnvironment.getSelectionSet());
+    }
+
+    Class<?> select(SelectionProjection projection, DataFetchingFieldSelectionSet selectionSet) {
+        Set<String> selected = selectedFields(selectionSet, projection.path());
+        Class<?> narrowest = null;
+        int narrowestSize = Integer.MAX_VALUE;
+        for (Class<?> candidate : projection.value()) {
+            Set<String> candidateProperties = properties.computeIfAbsent(candidate, SelectionProjectionInjector::findProperties);
+            if (candidateProperties.size() < narrowestSize && candidateProperties.containsAll(selected)) {
+                narrowest = candidate;
+                narrowestSize = candidateProperties.size();
+            }
+        }
+        return narrowest != null ? narrowest : projection.fallback();
+    }
+
+    @Override
+    public boolean supports(AnnotatedType type, Parameter parameter) {
+        return parameter != null && parameter.isAnnotationPresent(SelectionProjection.class)
+                && parameter.isAnnotationPresent(GraphQLEnvironment.class) && parameter.getType() == Class.class;
+    }
+
+    /**
+     * Copies the properties of a projection into an instance of the resolver's return type, for when the projection
+     * itself can't be returned (e.g. an interface projection of an entity the schema type is derived from)
+     *
+     * @param projection the projection fetched from the repository
+     * @param type the type to copy the projected properties into, must have a public no-arg constructor
+     * @param <T> the type to copy into
+     *
+     * @return a new instance of the given type, with only the projected properties set
+     *
+     * @throws IllegalArgumentException if a projected property has no counterpart of a compatible type to be set on
+     * the given type, as the client would otherwise silently get null for it
+     */
+    public static <T> T adapt(Object projection, Class<T> type) {
+        if (type.isInstance(projection)) {
+            return type.cast(projection);
+        }
+        T target = BeanUtils.instantiateClass(type);
+        for (PropertyDescriptor source : projectedProperties(projection.getClass())) {
+            Method read = source.getReadMethod();
+            if (read == null || source.getName().equals("class")) {
+                continue;
+            }
+            PropertyDescriptor destination = BeanUtils.getPropertyDescriptor(type, source.getName());
+            Method write = destination != null ? destination.getWriteMethod() : null;
+            if (write == null || !ClassUtils.isAssignable(write.getParameterTypes()[0], read.getReturnType())) {
+                throw new IllegalArgumentException("Projected property " + source.getName() + " of "
+                        + projection.getClass().getName() + " can not be set on " + type.getName());
+            }
+            try {
+                ReflectionUtils.makeAccessible(read);
+                ReflectionUtils.makeAccessible(write);
+                write.invoke(target, read.invoke(projection));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Projected property " + source.getName() + " could not be copied", e);
+            }
+        }
+        return target;
+    }
+
+    //Interface projections are proxies, whose own properties include Spring's infrastructure (e.g. TargetAware)
+    private static List<PropertyDescriptor> projectedProperties(Class<?> type) {
+        List<PropertyDescriptor> properties = new ArrayList<>();
+        if (!Proxy.isProxyClass(type)) {
+            Collections.addAll(properties, BeanUtils.getPropertyDescriptors(type));
+            return properties;
+        }
+        for (Class<?> projectionInterface : type.getInterfaces()) {
+            addInterfaceProperties(projectionInterface, properties);
+        }
+        return properties;
+    }
+
+    private static void addInterfaceProperties(Class<?> projectionInterface, List<PropertyDescriptor> properties) {
+        if (projectionInterface.getName().startsWith("org.springframework.")) {
+            return;
+        }
+        Collections.addAll(properties, BeanUtils.getPropertyDescriptors(projectionInterface));
+        for (Class<?> superInterface : projectionInterface.getInterfaces()) {
+            addInterfaceProperties(superInterface, properties);
+        }
+    }
+
+    private static Set<String> selectedFields(DataFetchingFieldSelectionSet selectionSet, String path) {
+        Set<String> selected = new HashSet<>();
+        for (SelectedField field : selectionSet.getFields(path.isEmpty() ? "*" : path + "/*")) {
+            if (!field.getName().startsWith("__")) {
+                selected.add(field.getName());
+            }
+        }
+        return selected;
+    }
+
+    private static Set<String> findProperties(Class<?> projection) {
+        Set<String> names = new HashSet<>();
+        for (PropertyDescriptor property : BeanUtils.getPropertyDescriptors(projection)) {
+            if (property.getReadMethod() != null && !property.getName().equals("class")) {
+                names.add(property.getName());
+            }
+        }
+        //Interfaces don't inherit their super-interfaces' properties, and DTOs may expose fields directly
+        for (Class<?> superInterface : projection.getInterfaces()) {
+            names.addAll(findProperties(superInterface));
+        }
+        for (Class<?> type = projection; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                    names.add(field.getName());
+                }
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+}
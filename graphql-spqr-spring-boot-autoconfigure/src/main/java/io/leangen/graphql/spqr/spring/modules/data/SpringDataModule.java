@@ -5,13 +5,26 @@ import io.leangen.graphql.module.Module;
 
 public class SpringDataModule implements Module {
 
+    private final PageableAdapter pageableAdapter;
+
+    public SpringDataModule() {
+        this(new PageableAdapter());
+    }
+
+    /**
+     * @param pageableAdapter the adapter for {@code Pageable} arguments, carrying the page size limits
+     */
+    public SpringDataModule(PageableAdapter pageableAdapter) {
+        this.pageableAdapter = pageableAdapter;
+    }
+
     @Override
     public void setUp(SetupContext context) {
         ResolverBuilder sliceResolverBuilder = new SliceResolverBuilder();
-        PageableAdapter pageableAdapter = new PageableAdapter();
         SortAdapter sortAdapter = new SortAdapter();
         RevisionSortAdapter revisionSortAdapter = new RevisionSortAdapter();
         context.getSchemaGenerator()
+                .withArgumentInjectors((conf, injectors) -> injectors.prepend(new PageHintInjector(), new SelectionProjectionInjector()))
                 .withNestedResolverBuilders((conf, builders) -> builders.append(sliceResolverBuilder))
                 .withTypeAdapters(pageableAdapter, sortAdapter, new OrderAdapter(), revisionSortAdapter)
                 .withSchemaTransformers(pageableAdapter, sortAdapter, revisionSortAdapter);
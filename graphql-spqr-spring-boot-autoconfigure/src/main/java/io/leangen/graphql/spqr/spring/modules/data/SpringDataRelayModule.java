@@ -4,17 +4,31 @@ import io.leangen.graphql.module.Module;
 
 public class SpringDataRelayModule implements Module {
 
+    private final PageableAdapter pageableAdapter;
+
+    public SpringDataRelayModule() {
+        this(new PageableAdapter());
+    }
+
+    /**
+     * @param pageableAdapter the adapter for {@code Pageable} arguments, carrying the page size limits
+     */
+    public SpringDataRelayModule(PageableAdapter pageableAdapter) {
+        this.pageableAdapter = pageableAdapter;
+    }
+
     @Override
     public void setUp(SetupContext context) {
         PageToConnectionAdapter<?> pageAdapter = new PageToConnectionAdapter<>();
-        PageableAdapter pageableAdapter = new PageableAdapter();
         SortAdapter sortAdapter = new SortAdapter();
         RevisionSortAdapter revisionSortAdapter = new RevisionSortAdapter();
+        KeysetAdapter keysetAdapter = new KeysetAdapter(pageableAdapter);
         context.getSchemaGenerator()
+                .withArgumentInjectors((conf, injectors) -> injectors.prepend(new PageHintInjector(), new SelectionProjectionInjector()))
                 .withRelayConnectionCheckRelaxed()
                 .withTypeMappers(pageAdapter)
                 .withOutputConverters(pageAdapter)
-                .withTypeAdapters(pageableAdapter, sortAdapter, new OrderAdapter(), revisionSortAdapter)
-                .withSchemaTransformers(pageableAdapter, sortAdapter, revisionSortAdapter);
+                .withTypeAdapters(pageableAdapter, sortAdapter, new OrderAdapter(), revisionSortAdapter, keysetAdapter)
+                .withSchemaTransformers(pageableAdapter, sortAdapter, revisionSortAdapter, keysetAdapter);
     }
 }
@@ -0,0 +1,83 @@
+package io.leangen.graphql.spqr.spring.modules.reactive;
+
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import io.leangen.graphql.spqr.spring.autoconfigure.DefaultGlobalContext;
+import io.leangen.graphql.spqr.spring.web.reactive.WebFluxContext;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link CompletableFuture} that subscribes to a single-valued publisher directly, exposing the operation's
+ * Reactor context to it. Equivalent to {@code subscriberContext(context).toFuture()}, but without adding an operator
+ * (and a context merge) per resolved field.
+ */
+class ContextualFuture<T> extends CompletableFuture<T> implements CoreSubscriber<T> {
+
+    private final Context context;
+    private final AtomicReference<Subscription> subscription = new AtomicReference<>();
+
+    private ContextualFuture(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Subscribes to the given publisher with the operation's context, bounding the wait by the operation's deadline, if any
+     */
+    static <T> ContextualFuture<T> subscribe(Mono<T> source, ResolutionEnvironment resolutionEnvironment) {
+        Object rootContext = resolutionEnvironment.rootContext;
+        Duration remaining = rootContext instanceof DefaultGlobalContext ? ((DefaultGlobalContext<?>) rootContext).getRemainingTime() : null;
+        ContextualFuture<T> result = new ContextualFuture<>(subscriberContext(resolutionEnvironment));
+        (remaining != null ? source.timeout(remaining.isNegative() ? Duration.ZERO : remaining) : source).subscribe(result);
+        return result;
+    }
+
+    static Context subscriberContext(ResolutionEnvironment resolutionEnvironment) {
+        Object rootContext = resolutionEnvironment.rootContext;
+        Context context = rootContext instanceof WebFluxContext ? ((WebFluxContext) rootContext).getSubscriberContext() : null;
+        return context != null ? context : Context.empty();
+    }
+
+    @Override
+    public Context currentContext() {
+        return context;
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        if (subscription.compareAndSet(null, s)) {
+            s.request(Long.MAX_VALUE);
+        } else {
+            s.cancel();
+        }
+    }
+
+    @Override
+    public void onNext(T value) {
+        complete(value);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        completeExceptionally(error);
+    }
+
+    @Override
+    public void onComplete() {
+        complete(null);
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        Subscription s = subscription.getAndSet(null);
+        if (s != null) {
+            s.cancel();
+        }
+        return super.cancel(mayInterruptIfRunning);
+    }
+}
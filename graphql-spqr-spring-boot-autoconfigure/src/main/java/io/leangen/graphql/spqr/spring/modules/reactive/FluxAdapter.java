@@ -4,20 +4,77 @@ import io.leangen.geantyref.GenericTypeReflector;
 import io.leangen.graphql.execution.ResolutionEnvironment;
 import io.leangen.graphql.generator.mapping.core.PublisherAdapter;
 import org.reactivestreams.Publisher;
+import reactor.core.Fuseable;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.lang.reflect.AnnotatedType;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
 
 public class FluxAdapter<T> extends PublisherAdapter<T> {
 
+    private final int chunkSize;
+    private final int maxSize;
+
+    public FluxAdapter() {
+        this(0, 0);
+    }
+
+    /**
+     * @param chunkSize the number of elements requested from the source at a time (0 requests everything at once)
+     * @param maxSize the maximum number of elements a non-subscription field may produce (0 means unlimited)
+     */
+    public FluxAdapter(int chunkSize, int maxSize) {
+        this.chunkSize = chunkSize;
+        this.maxSize = maxSize;
+    }
+
     /*@Override
     public Flux<T> convertInput(CompletableFuture<List<T>> substitute, AnnotatedType type, GlobalEnvironment environment, ValueMapper valueMapper) {
         return Mono.fromFuture(substitute).flatMapMany(Flux::fromIterable);
     }*/
 
+    @Override
+    public Object convertOutput(Publisher<T> original, AnnotatedType type, ResolutionEnvironment resolutionEnvironment) {
+        //Subscriptions return the publisher itself, so it has to carry the operation's context on its own
+        if (resolutionEnvironment.dataFetchingEnvironment.getParentType() == resolutionEnvironment.dataFetchingEnvironment.getGraphQLSchema().getSubscriptionType()) {
+            return ((Flux<T>) original).subscriberContext(ContextualFuture.subscriberContext(resolutionEnvironment));
+        }
+        return super.convertOutput(original, type, resolutionEnvironment);
+    }
+
     @Override
     protected Object convertOutputForNonSubscription(Publisher<T> original, AnnotatedType type, ResolutionEnvironment resolutionEnvironment) {
-        return ((Flux<T>)original).collectList().toFuture();
+        //Empty and single-element fluxes (Flux.empty, Flux.just) can be resolved without subscribing
+        if (original instanceof Fuseable.ScalarCallable) {
+            try {
+                Object value = ((Callable<?>) original).call();
+                return value == null ? Collections.emptyList() : Collections.singletonList(value);
+            } catch (Exception e) {
+                return MonoAdapter.failed(e);
+            }
+        }
+        Flux<T> flux = (Flux<T>) original;
+        if (chunkSize > 0) {
+            flux = flux.limitRate(chunkSize);
+        }
+        Mono<List<T>> list = maxSize > 0 ? collectCapped(flux, resolutionEnvironment) : flux.collectList();
+        return ContextualFuture.subscribe(list, resolutionEnvironment);
+    }
+
+    private Mono<List<T>> collectCapped(Flux<T> flux, ResolutionEnvironment resolutionEnvironment) {
+        //Take one extra element to tell an exact fit apart from an overflow, and cancel the source right after
+        return flux.take(maxSize + 1L)
+                .collectList()
+                .map(elements -> {
+                    if (elements.size() > maxSize) {
+                        throw new IllegalStateException("Field " + resolutionEnvironment.dataFetchingEnvironment.getField().getName()
+                                + " produced more than the maximum of " + maxSize + " elements");
+                    }
+                    return elements;
+                });
     }
 
     @Override
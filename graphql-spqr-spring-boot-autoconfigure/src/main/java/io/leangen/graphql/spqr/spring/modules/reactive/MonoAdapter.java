@@ -9,10 +9,13 @@ import io.leangen.graphql.generator.mapping.OutputConverter;
 import io.leangen.graphql.generator.mapping.TypeMapper;
 import io.leangen.graphql.generator.mapping.common.AbstractTypeSubstitutingMapper;
 import io.leangen.graphql.util.ClassUtils;
+import reactor.core.Fuseable;
 import reactor.core.publisher.Mono;
 
 import java.lang.reflect.AnnotatedType;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 public class MonoAdapter<T> extends AbstractTypeSubstitutingMapper<T> implements OutputConverter<Mono<T>, Object> {
 
@@ -25,10 +28,24 @@ public class MonoAdapter<T> extends AbstractTypeSubstitutingMapper<T> implements
     public Object convertOutput(Mono<T> original, AnnotatedType type, ResolutionEnvironment resolutionEnvironment) {
         //For subscriptions, Mono<T> (Publisher<T>) should be returned directly
         if (resolutionEnvironment.dataFetchingEnvironment.getParentType() == resolutionEnvironment.dataFetchingEnvironment.getGraphQLSchema().getSubscriptionType()) {
-            return original;
+            return original.subscriberContext(ContextualFuture.subscriberContext(resolutionEnvironment));
+        }
+        //Values known at assembly time (e.g. Mono.just) can be used directly, without subscribing
+        if (original instanceof Fuseable.ScalarCallable) {
+            try {
+                return ((Callable<?>) original).call();
+            } catch (Exception e) {
+                return failed(e);
+            }
         }
         //For other operations it must be converted into a CompletableFuture<T>
-        return original.toFuture();
+        return ContextualFuture.subscribe(original, resolutionEnvironment);
+    }
+
+    static CompletableFuture<Object> failed(Throwable error) {
+        CompletableFuture<Object> failed = new CompletableFuture<>();
+        failed.completeExceptionally(error);
+        return failed;
     }
 
     @Override
@@ -10,23 +10,23 @@ public class ConcurrentMultiMap<K, V> {
 
     private final ConcurrentMap<K, Set<V>> map = new ConcurrentHashMap<>();
 
-    public synchronized void add(K key, V value) {
-        Set<V> set = map.get(key);
-        if (set != null) {
+    //Both updates are atomic per key, so writers to different keys never wait on each other,
+    //and a set emptied by remove can't be revived by a concurrent add after it has been dropped
+    public void add(K key, V value) {
+        map.compute(key, (k, set) -> {
+            if (set == null) {
+                return createConcurrentSet(value);
+            }
             set.add(value);
-        } else {
-            map.put(key, createConcurrentSet(value));
-        }
+            return set;
+        });
     }
 
-    public synchronized void remove(K key, V value) {
-        Set<V> set = map.get(key);
-        if (set != null) {
+    public void remove(K key, V value) {
+        map.computeIfPresent(key, (k, set) -> {
             set.remove(value);
-            if (set.isEmpty()) {
-                map.remove(key);
-            }
-        }
+            return set.isEmpty() ? null : set;
+        });
     }
 
     public boolean contains(K key, V value) {
@@ -0,0 +1,71 @@
+package io.leangen.graphql.spqr.spring.web;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An upload argument type for resolvers receiving many files at once, mapped to a list of {@code FileUpload}s.
+ * Unlike a {@code List<MultipartFile>}, it lets the resolver consume the files one at a time, as a stream or
+ * (e.g. via {@code Flux.fromIterable}) a publisher, or process them concurrently, instead of handing over
+ * a materialized collection.
+ * <p>
+ * The content of each file is only read when the resolver opens it, so files already processed (e.g. hashed or stored)
+ * need not wait for the others.
+ * <p>
+ * Only available with servlet uploads, and rejected otherwise. On WebFlux, files are received as
+ * {@link org.springframework.http.codec.multipart.FilePart}s, which already stream their content.
+ */
+public final class FileUploads implements Iterable<MultipartFile> {
+
+    private final List<MultipartFile> files;
+
+    public FileUploads(List<MultipartFile> files) {
+        this.files = Collections.unmodifiableList(new ArrayList<>(files));
+    }
+
+    public int size() {
+        return files.size();
+    }
+
+    @Override
+    public Iterator<MultipartFile> iterator() {
+        return files.iterator();
+    }
+
+    public Stream<MultipartFile> stream() {
+        return files.stream();
+    }
+
+    /**
+     * Applies the given task to all files concurrently, each starting as soon as the executor can take it
+     *
+     * @param task The processing of a single file, e.g. hashing or storing it
+     * @param executor The executor running the tasks
+     * @param <T> The type of the task's result
+     *
+     * @return The results, in the order of the files, completed once all the tasks are done,
+     * or exceptionally as soon as any of them fails
+     */
+    public <T> CompletableFuture<List<T>> process(Function<MultipartFile, T> task, Executor executor) {
+        List<CompletableFuture<T>> results = files.stream()
+                .map(file -> CompletableFuture.supplyAsync(() -> task.apply(file), executor))
+                .collect(Collectors.toList());
+        CompletableFuture<List<T>> all = CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+                .thenApply(done -> results.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+        results.forEach(result -> result.whenComplete((value, error) -> {
+            if (error != null) {
+                all.completeExceptionally(error);
+            }
+        }));
+        return all;
+    }
+}
@@ -1,35 +1,62 @@
 package io.leangen.graphql.spqr.spring.web;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
 import io.leangen.geantyref.GenericTypeReflector;
 import io.leangen.graphql.execution.GlobalEnvironment;
 import io.leangen.graphql.generator.mapping.ConverterRegistry;
 import io.leangen.graphql.metadata.messages.EmptyMessageBundle;
 import io.leangen.graphql.metadata.strategy.type.DefaultTypeInfoGenerator;
 import io.leangen.graphql.metadata.strategy.value.ValueMapper;
+import io.leangen.graphql.spqr.spring.autoconfigure.DocumentCache;
 import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
 import io.leangen.graphql.util.Defaults;
-import org.springframework.beans.MutablePropertyValues;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
-import org.springframework.validation.DataBinder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 public abstract class GraphQLController<R> {
 
     protected final GraphQL graphQL;
     protected final GraphQLExecutor<R> executor;
+    private final GraphQLSchema schema;
+    private final IntrospectionCache introspectionCache;
+    private final DocumentCache documentCache;
     private final ValueMapper valueMapper;
 
 
     public GraphQLController(GraphQL graphQL, GraphQLExecutor<R> executor) {
+        this(graphQL, executor, null, null);
+    }
+
+    /**
+     * @param schema The schema of the given {@code GraphQL} instance
+     * @param introspectionCache Serves the schema definition and, if enabled, cached introspection results,
+     *                           {@code null} if introspection is disabled
+     */
+    public GraphQLController(GraphQL graphQL, GraphQLExecutor<R> executor, GraphQLSchema schema, IntrospectionCache introspectionCache) {
+        this(graphQL, executor, schema, introspectionCache, null);
+    }
+
+    /**
+     * @param documentCache The cache of parsed queries, used to share a single instance of each repeated query string
+     */
+    public GraphQLController(GraphQL graphQL, GraphQLExecutor<R> executor, GraphQLSchema schema, IntrospectionCache introspectionCache,
+                             DocumentCache documentCache) {
         this.graphQL = graphQL;
         this.executor = executor;
+        this.schema = schema;
+        //Neither the SDL nor the introspection results can be cached without knowing the schema
+        this.introspectionCache = schema != null ? introspectionCache : null;
+        this.documentCache = documentCache;
         this.valueMapper = Defaults.valueMapperFactory(new DefaultTypeInfoGenerator()).getValueMapper(
                 Collections.emptyMap(),
                 new GlobalEnvironment(EmptyMessageBundle.INSTANCE, null, null, new ConverterRegistry(Collections.emptyList(), Collections.emptyList()), null, null, null, null)
@@ -49,7 +76,12 @@ public abstract class GraphQLController<R> {
         String operationName = requestParams.getOperationName() == null ? requestBody.getOperationName() : requestParams.getOperationName();
         Map<String, Object> variables = requestParams.getVariables().isEmpty() ? requestBody.getVariables() : requestParams.getVariables();
 
-        return executor.execute(graphQL, new GraphQLRequest(query, operationName, variables), request);
+        //The body is usually all there is, so only allocate a merged request if something actually differs.
+        //The query is interned only after the comparison, as the cached instance is never the one in the body.
+        if (query == requestBody.getQuery() && operationName == requestBody.getOperationName() && variables == requestBody.getVariables()) {
+            return execute(requestBody, request);
+        }
+        return execute(GraphQLRequest.of(intern(query), operationName, variables, requestBody.getExtensions()), request);
     }
 
     @PostMapping(
@@ -61,8 +93,8 @@ public abstract class GraphQLController<R> {
     public Object executeGraphQLPost(@RequestBody String queryBody,
                                      GraphQLRequest graphQLRequest,
                                      R request) {
-        String query = graphQLRequest.getQuery() == null ? queryBody : graphQLRequest.getQuery();
-        return executor.execute(graphQL, new GraphQLRequest(query, graphQLRequest.getOperationName(), graphQLRequest.getVariables()), request);
+        String query = intern(graphQLRequest.getQuery() == null ? queryBody : graphQLRequest.getQuery());
+        return execute(new GraphQLRequest(query, graphQLRequest.getOperationName(), graphQLRequest.getVariables()), request);
     }
 
     @RequestMapping(
@@ -78,10 +110,10 @@ public abstract class GraphQLController<R> {
         String queryParam = queryParams.get("query");
         String operationNameParam = queryParams.get("operationName");
 
-        String query = StringUtils.isEmpty(queryParam) ? graphQLRequest.getQuery() : queryParam;
+        String query = intern(StringUtils.isEmpty(queryParam) ? graphQLRequest.getQuery() : queryParam);
         String operationName = StringUtils.isEmpty(operationNameParam) ? graphQLRequest.getOperationName() : operationNameParam;
 
-        return executor.execute(graphQL, new GraphQLRequest(query, operationName, graphQLRequest.getVariables()), request);
+        return execute(new GraphQLRequest(query, operationName, graphQLRequest.getVariables()), request);
     }
 
     @GetMapping(
@@ -91,7 +123,24 @@ public abstract class GraphQLController<R> {
     )
     @ResponseBody
     public Object executeGet(GraphQLRequest graphQLRequest, R request) {
-        return executor.execute(graphQL, graphQLRequest, request);
+        return execute(graphQLRequest, request);
+    }
+
+    @GetMapping(
+            value = "${graphql.spqr.http.endpoint:/graphql}/schema.graphqls",
+            produces = "text/plain; charset=utf-8"
+    )
+    @ResponseBody
+    public ResponseEntity<byte[]> schemaDefinition() {
+        if (introspectionCache == null) {
+            return ResponseEntity.notFound().build();
+        }
+        IntrospectionCache.SchemaDefinition definition = introspectionCache.getSchemaDefinition(schema);
+        //Conditional requests get a 304 from Spring's handling of the ETag
+        return ResponseEntity.ok()
+                .eTag(definition.getEtag())
+                .cacheControl(CacheControl.noCache())
+                .body(definition.getContent());
     }
 
     @PostMapping(
@@ -104,23 +153,31 @@ public abstract class GraphQLController<R> {
             @RequestParam("map") String mappingString,
             @RequestParam Map<String, MultipartFile> multipartFiles,
             R request) {
-        GraphQLRequest graphQLRequest = valueMapper.fromString(requestString, GenericTypeReflector.annotate(GraphQLRequest.class));
+        GraphQLRequest operations = valueMapper.fromString(requestString, GenericTypeReflector.annotate(GraphQLRequest.class));
         Map<String, List<String>> fileMappings = valueMapper.fromString(mappingString, GenericTypeReflector.annotate((Map.class)));
 
-        Map<String, Object> values = new LinkedHashMap<>();
-        fileMappings.forEach((fileKey, variables) -> {
-            for (String variable : variables) {
-                String[] parts = variable.split("\\.");
-                String path = parts[0] + Arrays.stream(parts).skip(1).collect(Collectors.joining("][", "[", "]"));
-                values.put(path, multipartFiles.get(fileKey));
-            }
-        });
+        //Splice the files straight into the variables, as they are only referenced, never read, here
+        GraphQLRequest graphQLRequest;
+        try {
+            graphQLRequest = MultipartRequests.bindFiles(operations, fileMappings, multipartFiles::get);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+
+        return executor.execute(graphQL, graphQLRequest, request);
+    }
 
-        DataBinder binder = new DataBinder(graphQLRequest, "operations");
-        binder.setIgnoreUnknownFields(false);
-        binder.setIgnoreInvalidFields(false);
-        binder.bind(new MutablePropertyValues(values));
+    private String intern(String query) {
+        return documentCache != null ? documentCache.intern(query) : query;
+    }
 
+    private Object execute(GraphQLRequest graphQLRequest, R request) {
+        if (introspectionCache != null) {
+            byte[] introspectionResult = introspectionCache.execute(graphQL, schema, graphQLRequest);
+            if (introspectionResult != null) {
+                return introspectionResult;
+            }
+        }
         return executor.execute(graphQL, graphQLRequest, request);
     }
 }
@@ -23,11 +23,7 @@ public interface GraphQLExecutor<R> {
                 .query(graphQLRequest.getQuery())
                 .operationName(graphQLRequest.getOperationName())
                 .variables(graphQLRequest.getVariables())
-                .context(contextFactory.createGlobalContext(ContextFactoryParams.<R>builder()
-                        .withGraphQLRequest(graphQLRequest)
-                        .withNativeRequest(request)
-                        .withEnvironment(env)
-                        .build()));
+                .context(contextFactory.createGlobalContext(ContextFactoryParams.of(graphQLRequest, request, env)));
         if (loaderFactory != null) {
             inputBuilder.dataLoaderRegistry(loaderFactory.createDataLoaderRegistry());
         }
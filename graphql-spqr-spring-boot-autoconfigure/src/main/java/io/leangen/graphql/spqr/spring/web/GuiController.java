@@ -2,29 +2,110 @@ package io.leangen.graphql.spqr.spring.web;
 
 import io.leangen.graphql.spqr.spring.autoconfigure.SpqrProperties;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.DigestUtils;
 import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
+/**
+ * Serves the GraphQL Playground page, rendered once and kept both as is and gzip-compressed.
+ * The page is served with a strong ETag and may be cached for a day, while conditional requests
+ * get a {@code 304 Not Modified} from Spring's handling of the ETag.
+ */
 @Controller
 public class GuiController {
 
-    private final SpqrProperties config;
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic();
+
+    private final byte[] page;
+    private final byte[] gzippedPage;
+    private final String etag;
+    private final String gzippedEtag;
 
     public GuiController(SpqrProperties config) {
-        this.config = config;
+        try (InputStream template = new ClassPathResource("playground.html").getInputStream()) {
+            this.page = StreamUtils.copyToString(template, StandardCharsets.UTF_8)
+                    .replace("${pageTitle}", config.getGui().getPageTitle())
+                    .replace("${graphQLEndpoint}", config.getGui().getTargetEndpoint())
+                    .replace("${webSocketEndpoint}", config.getGui().getTargetWsEndpoint())
+                    .getBytes(StandardCharsets.UTF_8);
+            this.gzippedPage = gzip(page);
+        } catch (IOException e) {
+            throw new UncheckedIOException("GraphQL Playground page could not be rendered", e);
+        }
+        String hash = DigestUtils.md5DigestAsHex(page);
+        //Each representation needs its own strong ETag
+        this.etag = "\"" + hash + "\"";
+        this.gzippedEtag = "\"" + hash + "-gzip\"";
     }
 
     @ResponseBody
     @RequestMapping(value = "${graphql.spqr.gui.endpoint:/gui}", produces = "text/html; charset=utf-8")
-    public String gui() throws IOException {
-        return StreamUtils.copyToString(new ClassPathResource("playground.html").getInputStream(), StandardCharsets.UTF_8)
-                .replace("${pageTitle}", config.getGui().getPageTitle())
-                .replace("${graphQLEndpoint}", config.getGui().getTargetEndpoint())
-                .replace("${webSocketEndpoint}", config.getGui().getTargetWsEndpoint());
+    public ResponseEntity<byte[]> gui(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.eTag(gzippedEtag).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(gzippedPage);
+        }
+        return response.eTag(etag).body(page);
+    }
+
+    /**
+     * An explicitly listed gzip coding decides by its own weight, wherever it appears,
+     * and only an unlisted one falls back to the weight of {@code *}
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip")) {
+                gzip = quality(parts);
+            } else if (name.equals("*")) {
+                any = quality(parts);
+            }
+        }
+        Double quality = gzip != null ? gzip : any;
+        return quality != null && quality > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0; //The uncompressed page is always safe to serve
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(content);
+        }
+        return compressed.toByteArray();
     }
 }
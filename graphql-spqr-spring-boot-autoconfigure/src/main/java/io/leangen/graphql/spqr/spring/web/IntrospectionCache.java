@@ -0,0 +1,205 @@
+package io.leangen.graphql.spqr.spring.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaPrinter;
+import io.leangen.graphql.spqr.spring.autoconfigure.DocumentCache;
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Renders the schema definition (SDL) once per schema and, if enabled, answers introspection-only queries
+ * (e.g. the ones sent by IDEs and other tooling) with results computed once per schema and kept serialized.
+ * <p>
+ * Cached introspection results are the same for every caller, so they are served without going through the
+ * {@link GraphQLExecutor}: the global context factory, deadlines, DataLoaders and instrumentation of the regular
+ * execution don't apply to them. That's why result caching has to be enabled explicitly.
+ */
+public class IntrospectionCache {
+
+    private static final Pattern INTROSPECTION = Pattern.compile("__(schema|type)\\b");
+    private static final List<String> INTROSPECTION_FIELDS = Arrays.asList("__schema", "__type", "__typename");
+    //Distinct introspection queries are few in practice, so this only guards against abuse
+    private static final int MAX_QUERIES_PER_SCHEMA = 64;
+
+    private final Map<GraphQLSchema, SchemaEntry> schemas = Collections.synchronizedMap(new WeakHashMap<>());
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final boolean resultsCached;
+    private final DocumentCache documentCache;
+
+    /**
+     * Creates a cache of the schema definition only, leaving all queries to the regular execution
+     */
+    public IntrospectionCache() {
+        this(false, null);
+    }
+
+    /**
+     * @param resultsCached Whether the results of introspection-only queries are cached
+     * @param documentCache Provides the parsed documents of executed queries, so that telling whether a query is
+     *                      introspection-only needs no parsing. If {@code null}, queries are parsed for the check.
+     */
+    public IntrospectionCache(boolean resultsCached, DocumentCache documentCache) {
+        this.resultsCached = resultsCached;
+        this.documentCache = documentCache;
+    }
+
+    /**
+     * @param graphQL The instance executing the introspection queries not cached yet
+     * @param schema The schema of the given {@code GraphQL} instance, that the results are cached for
+     * @return The serialized result of the given request if results are cached and it only queries introspection fields,
+     * otherwise {@code null}
+     */
+    public byte[] execute(GraphQL graphQL, GraphQLSchema schema, GraphQLRequest request) {
+        String query = request.getQuery();
+        if (!resultsCached || query == null || !INTROSPECTION.matcher(query).find()) {
+            return null;
+        }
+        ConcurrentMap<Key, byte[]> results = entry(schema).results;
+        Key key = new Key(query, request.getOperationName(), request.getVariables());
+        byte[] cached = results.get(key);
+        if (cached != null || !isIntrospectionOnly(request)) {
+            return cached;
+        }
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput()
+                .query(query)
+                .operationName(request.getOperationName())
+                .variables(request.getVariables())
+                .build());
+        byte[] serialized;
+        try {
+            serialized = objectMapper.writeValueAsBytes(result.toSpecification());
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        //Results with errors are returned as they are, but not kept, so that the query isn't executed a second time
+        if (result.getErrors().isEmpty() && results.size() < MAX_QUERIES_PER_SCHEMA) {
+            results.putIfAbsent(key, serialized);
+        }
+        return serialized;
+    }
+
+    /**
+     * @return The schema definition of the given schema, rendered once
+     */
+    public SchemaDefinition getSchemaDefinition(GraphQLSchema schema) {
+        SchemaEntry entry = entry(schema);
+        SchemaDefinition definition = entry.definition;
+        if (definition == null) {
+            definition = new SchemaDefinition(new SchemaPrinter().print(schema).getBytes(StandardCharsets.UTF_8));
+            entry.definition = definition;
+        }
+        return definition;
+    }
+
+    private SchemaEntry entry(GraphQLSchema schema) {
+        return schemas.computeIfAbsent(schema, s -> new SchemaEntry());
+    }
+
+    private boolean isIntrospectionOnly(GraphQLRequest request) {
+        try {
+            Document document;
+            if (documentCache != null) {
+                //Queries not executed before are left to the regular execution, which also puts them into the cache
+                document = documentCache.getParsedDocument(request.getQuery());
+                if (document == null) {
+                    return false;
+                }
+            } else {
+                document = new Parser().parseDocument(request.getQuery());
+            }
+            List<OperationDefinition> operations = document.getDefinitions().stream()
+                    .filter(definition -> definition instanceof OperationDefinition)
+                    .map(definition -> (OperationDefinition) definition)
+                    .collect(Collectors.toList());
+            String operationName = request.getOperationName();
+            OperationDefinition operation = operationName == null
+                    ? (operations.size() == 1 ? operations.get(0) : null)
+                    : operations.stream().filter(op -> operationName.equals(op.getName())).findFirst().orElse(null);
+            if (operation == null || operation.getOperation() != OperationDefinition.Operation.QUERY) {
+                return false;
+            }
+            for (Selection<?> selection : operation.getSelectionSet().getSelections()) {
+                if (!(selection instanceof Field) || !INTROSPECTION_FIELDS.contains(((Field) selection).getName())) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    public static class SchemaDefinition {
+
+        private final byte[] content;
+        private final String etag;
+
+        SchemaDefinition(byte[] content) {
+            this.content = content;
+            this.etag = "\"" + DigestUtils.md5DigestAsHex(content) + "\"";
+        }
+
+        public byte[] getContent() {
+            return content;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+    }
+
+    private static class SchemaEntry {
+        private final ConcurrentMap<Key, byte[]> results = new ConcurrentHashMap<>();
+        private volatile SchemaDefinition definition;
+    }
+
+    private static final class Key {
+
+        private final String query;
+        private final String operationName;
+        private final Map<String, Object> variables;
+
+        Key(String query, String operationName, Map<String, Object> variables) {
+            this.query = query;
+            this.operationName = operationName;
+            this.variables = variables;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return query.equals(that.query)
+                    && Objects.equals(operationName, that.operationName)
+                    && Objects.equals(variables, that.variables);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(query, operationName, variables);
+        }
+    }
+}
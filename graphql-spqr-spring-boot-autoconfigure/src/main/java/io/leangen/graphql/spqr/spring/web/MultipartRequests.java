@@ -0,0 +1,111 @@
+package io.leangen.graphql.spqr.spring.web;
+
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Helpers for GraphQL multipart requests, as specified by https://github.com/jaydenseric/graphql-multipart-request-spec
+ */
+public final class MultipartRequests {
+
+    //The same bound Spring's DataBinder puts on auto-growing collections
+    private static final int MAX_LIST_SIZE = 256;
+
+    private MultipartRequests() {
+    }
+
+    /**
+     * Splices the uploaded files into the request's variables, at the object paths given by the request's map.
+     * The given request is left as it is, as its variables may be immutable (e.g. when the client sent none).
+     *
+     * @param graphQLRequest The request parsed from the {@code operations} part
+     * @param fileMappings The {@code map} part, from file keys to object paths (e.g. {@code variables.input.files.0})
+     * @param files Looks up a file by its key
+     *
+     * @return The request with the files in its variables
+     * @throws IllegalArgumentException If a path doesn't point to a place in the variables
+     */
+    public static GraphQLRequest bindFiles(GraphQLRequest graphQLRequest, Map<String, List<String>> fileMappings, Function<String, ?> files) {
+        Map<String, Object> variables = new LinkedHashMap<>(graphQLRequest.getVariables());
+        //The containers along the paths are copied before being written to, each only once
+        Set<Object> copies = Collections.newSetFromMap(new IdentityHashMap<>());
+        copies.add(variables);
+        fileMappings.forEach((fileKey, paths) -> {
+            for (String path : paths) {
+                bind(variables, path, files.apply(fileKey), copies);
+            }
+        });
+        return GraphQLRequest.of(graphQLRequest.getQuery(), graphQLRequest.getOperationName(), variables, graphQLRequest.getExtensions());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void bind(Map<String, Object> variables, String path, Object value, Set<Object> copies) {
+        String[] parts = path.split("\\.");
+        if (parts.length < 2 || !parts[0].equals("variables")) {
+            throw new IllegalArgumentException("File mapping path " + path + " does not point into the variables");
+        }
+        Object container = variables;
+        for (int i = 1; i < parts.length; i++) {
+            boolean last = i == parts.length - 1;
+            if (container instanceof Map) {
+                Map<String, Object> map = (Map<String, Object>) container;
+                if (last) {
+                    map.put(parts[i], value);
+                } else {
+                    container = mutable(map.get(parts[i]), copies);
+                    map.put(parts[i], container);
+                }
+            } else if (container instanceof List) {
+                List<Object> list = (List<Object>) container;
+                int index = index(parts[i], path);
+                //Clients may send fewer placeholders than files, so grow the list as needed
+                while (list.size() <= index) {
+                    list.add(null);
+                }
+                if (last) {
+                    list.set(index, value);
+                } else {
+                    container = mutable(list.get(index), copies);
+                    list.set(index, container);
+                }
+            } else {
+                throw new IllegalArgumentException("File mapping path " + path + " does not exist in the variables");
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object mutable(Object container, Set<Object> copies) {
+        if (container == null || copies.contains(container)) {
+            return container;
+        }
+        Object copy;
+        if (container instanceof Map) {
+            copy = new LinkedHashMap<>((Map<String, Object>) container);
+        } else if (container instanceof List) {
+            copy = new ArrayList<>((List<Object>) container);
+        } else {
+            return container;
+        }
+        copies.add(copy);
+        return copy;
+    }
+
+    private static int index(String part, String path) {
+        try {
+            int index = Integer.parseInt(part);
+            if (index >= 0 && index < MAX_LIST_SIZE) {
+                return index;
+            }
+        } catch (NumberFormatException ignored) {/*reported below*/}
+        throw new IllegalArgumentException("File mapping path " + path + " does not exist in the variables");
+    }
+}
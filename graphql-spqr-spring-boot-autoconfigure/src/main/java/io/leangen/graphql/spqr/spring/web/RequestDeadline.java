@@ -0,0 +1,66 @@
+package io.leangen.graphql.spqr.spring.web;
+
+import io.leangen.graphql.spqr.spring.autoconfigure.DefaultGlobalContext;
+
+import java.time.Duration;
+
+/**
+ * Determines the deadline of an HTTP operation from the configured default and the optional request header
+ * (holding the timeout in milliseconds), capped by the configured maximum.
+ * Without a maximum, the header can only shorten the default timeout, never extend it.
+ */
+public class RequestDeadline {
+
+    private final long defaultMillis;
+    private final long maxMillis;
+    private final String header;
+
+    /**
+     * @param defaultMillis the timeout used when the request specifies none (0 for no timeout)
+     * @param maxMillis the upper bound for any timeout, requested or default (0 for no bound)
+     * @param header the name of the request header clients can use to specify a timeout (null to disallow)
+     */
+    public RequestDeadline(long defaultMillis, long maxMillis, String header) {
+        this.defaultMillis = defaultMillis;
+        this.maxMillis = maxMillis;
+        this.header = header;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    /**
+     * Sets the deadline on the given global context, if it supports deadlines and a timeout applies
+     *
+     * @param globalContext the context of the operation, as found in the execution input
+     * @param headerValue the value of the timeout header, possibly null
+     */
+    public void apply(Object globalContext, String headerValue) {
+        if (!(globalContext instanceof DefaultGlobalContext)) {
+            return;
+        }
+        long millis = timeoutMillis(headerValue);
+        if (millis > 0) {
+            ((DefaultGlobalContext<?>) globalContext).setDeadline(Duration.ofMillis(millis));
+        }
+    }
+
+    /**
+     * @param headerValue the value of the timeout header, possibly null
+     *
+     * @return the timeout applying to the request in milliseconds, or 0 if it has none
+     */
+    public long timeoutMillis(String headerValue) {
+        long millis = defaultMillis;
+        if (headerValue != null) {
+            try {
+                long requested = Long.parseLong(headerValue.trim());
+                if (requested > 0) {
+                    millis = maxMillis <= 0 && defaultMillis > 0 ? Math.min(requested, defaultMillis) : requested;
+                }
+            } catch (NumberFormatException ignored) {/*fall back to the default*/}
+        }
+        return maxMillis > 0 && (millis <= 0 || millis > maxMillis) ? maxMillis : millis;
+    }
+}
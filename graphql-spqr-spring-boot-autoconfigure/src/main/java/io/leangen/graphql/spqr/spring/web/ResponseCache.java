@@ -0,0 +1,372 @@
+package io.leangen.graphql.spqr.spring.web;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Keeps serialized responses off-heap, each in its own file under the given directory, mapped into memory for reading.
+ * Entries are evicted in least-recently-used order once their total size exceeds the cap, and expire after
+ * the shorter of the configured TTL and the response's own {@code max-age}.
+ * Serving from the file allows containers with zero-copy support to send the payload straight from the page cache.
+ * <p>
+ * An entry obtained from {@link #get(String)} stays usable until it is closed, even if it gets evicted meanwhile.
+ * Its mapping is released once the cache and all its users are done with it. Its file is deleted with a delay,
+ * as zero-copy sending may only open it after the entry has been closed.
+ */
+public class ResponseCache implements Closeable {
+
+    private static final String FILE_PREFIX = "response-";
+    private static final String FILE_SUFFIX = ".cache";
+    private static final long DELETE_DELAY_MILLIS = 60_000;
+    private static final Consumer<ByteBuffer> UNMAPPER = unmapper();
+
+    private final Path directory;
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final LinkedHashMap<String, Entry> index = new LinkedHashMap<>(16, 0.75f, true);
+    private final Deque<PendingDeletion> pendingDeletions = new ArrayDeque<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long size;
+    private boolean closed;
+
+    public ResponseCache(Path directory, long maxBytes, Duration ttl) {
+        try {
+            this.directory = Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Response cache directory " + directory + " could not be created", e);
+        }
+        this.maxBytes = maxBytes;
+        this.ttlMillis = ttl.toMillis();
+        deleteLeftovers();
+    }
+
+    /**
+     * @return The live entry cached under the given key, or {@code null} if there is none.
+     * The entry must be closed once its content or file is no longer needed.
+     */
+    public Entry get(String key) {
+        Entry entry;
+        List<Entry> expired = new ArrayList<>(1);
+        synchronized (index) {
+            entry = index.get(key);
+            if (entry != null && entry.isExpired()) {
+                remove(key, expired);
+                entry = null;
+            }
+            if (entry != null) {
+                entry.retain();
+            }
+        }
+        expired.forEach(Entry::close);
+        (entry == null ? misses : hits).increment();
+        return entry;
+    }
+
+    /**
+     * Caches the given response, if its {@code Cache-Control} header allows shared caching
+     *
+     * @return Whether the response was cached
+     */
+    public boolean put(String key, byte[] body, String contentType, String cacheControl) {
+        long maxAge = sharedMaxAge(cacheControl);
+        if (maxAge <= 0 || body.length == 0 || body.length > maxBytes) {
+            return false;
+        }
+        deletePending(false);
+        Path file;
+        MappedByteBuffer content;
+        try {
+            //A fresh unique name, so neither concurrent writers nor leftovers of earlier runs can get in the way
+            file = Files.createTempFile(directory, FILE_PREFIX, FILE_SUFFIX);
+        } catch (IOException e) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer source = ByteBuffer.wrap(body);
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+            //The mapping stays valid after the channel is closed
+            content = channel.map(FileChannel.MapMode.READ_ONLY, 0, body.length);
+        } catch (IOException e) {
+            delete(file);
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        Entry entry = new Entry(this, file, content, contentType, cacheControl, now, now + Math.min(ttlMillis, maxAge * 1000));
+        List<Entry> evicted = new ArrayList<>();
+        synchronized (index) {
+            if (closed) {
+                evicted.add(entry);
+            } else {
+                Entry replaced = index.put(key, entry);
+                if (replaced != null) {
+                    size -= replaced.getLength();
+                    evicted.add(replaced);
+                }
+                size += entry.getLength();
+                Iterator<Map.Entry<String, Entry>> eldest = index.entrySet().iterator();
+                while (size > maxBytes && eldest.hasNext()) {
+                    Entry victim = eldest.next().getValue();
+                    eldest.remove();
+                    size -= victim.getLength();
+                    evicted.add(victim);
+                }
+            }
+        }
+        //Drops the cache's own reference, the entries still in use are only released by their last user
+        evicted.forEach(Entry::close);
+        return !evicted.contains(entry);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return The total size of the cached payloads in bytes
+     */
+    public long getSize() {
+        synchronized (index) {
+            return size;
+        }
+    }
+
+    @Override
+    public void close() {
+        List<Entry> entries;
+        synchronized (index) {
+            closed = true;
+            entries = new ArrayList<>(index.values());
+            index.clear();
+            size = 0;
+        }
+        entries.forEach(Entry::close);
+        deletePending(true);
+        delete(directory);
+    }
+
+    private void remove(String key, List<Entry> removed) {
+        Entry entry = index.remove(key);
+        if (entry != null) {
+            size -= entry.getLength();
+            removed.add(entry);
+        }
+    }
+
+    //Invoked once neither the cache nor any user holds the entry anymore
+    private void release(Entry entry) {
+        UNMAPPER.accept(entry.content);
+        boolean deleteNow;
+        synchronized (index) {
+            deleteNow = closed;
+            if (!deleteNow) {
+                pendingDeletions.add(new PendingDeletion(entry.getFile(), System.currentTimeMillis() + DELETE_DELAY_MILLIS));
+            }
+        }
+        if (deleteNow) {
+            delete(entry.getFile());
+        }
+    }
+
+    private void deletePending(boolean all) {
+        List<Path> due = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        synchronized (index) {
+            while (!pendingDeletions.isEmpty() && (all || pendingDeletions.peek().deleteAt <= now)) {
+                due.add(pendingDeletions.poll().file);
+            }
+        }
+        due.forEach(ResponseCache::delete);
+    }
+
+    //The index doesn't survive restarts, so files left behind by an earlier run are of no use
+    private void deleteLeftovers() {
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+            leftovers.forEach(ResponseCache::delete);
+        } catch (IOException ignored) {/*Best effort*/}
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            //Best effort, a file still being sent may not be deletable on some platforms
+        }
+    }
+
+    /**
+     * Mapped buffers are otherwise only unmapped once garbage collected, which may keep evicted files
+     * occupying address space (and, on some platforms, disk space) indefinitely.
+     * There's no public API for it, so the JDK internals are used where accessible.
+     */
+    private static Consumer<ByteBuffer> unmapper() {
+        try {
+            //Java 9 and later
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            return buffer -> invokeQuietly(invokeCleaner, unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException ignored) {/*Not Java 9+*/}
+        try {
+            //Java 8
+            Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> {
+                try {
+                    Object bufferCleaner = cleaner.invoke(buffer);
+                    if (bufferCleaner != null) {
+                        clean.invoke(bufferCleaner);
+                    }
+                } catch (ReflectiveOperationException | RuntimeException ignored) {/*Left to the garbage collector*/}
+            };
+        } catch (ReflectiveOperationException | RuntimeException ignored) {/*Left to the garbage collector*/}
+        return buffer -> {};
+    }
+
+    private static void invokeQuietly(Method method, Object target, Object argument) {
+        try {
+            method.invoke(target, argument);
+        } catch (ReflectiveOperationException | RuntimeException ignored) {/*Left to the garbage collector*/}
+    }
+
+    /**
+     * @return The {@code max-age} of a response cacheable by shared caches, or -1 if it isn't
+     */
+    static long sharedMaxAge(String cacheControl) {
+        if (cacheControl == null) {
+            return -1;
+        }
+        boolean shared = false;
+        long maxAge = -1;
+        for (String directive : cacheControl.toLowerCase().split(",")) {
+            directive = directive.trim();
+            if (directive.equals("public")) {
+                shared = true;
+            } else if (directive.equals("private") || directive.equals("no-store") || directive.equals("no-cache")) {
+                return -1;
+            } else if (directive.startsWith("max-age=")) {
+                try {
+                    maxAge = Long.parseLong(directive.substring("max-age=".length()));
+                } catch (NumberFormatException e) {
+                    return -1;
+                }
+            }
+        }
+        return shared ? maxAge : -1;
+    }
+
+    public static class Entry implements Closeable {
+
+        private final ResponseCache cache;
+        private final Path file;
+        private final MappedByteBuffer content;
+        private final String contentType;
+        private final String cacheControl;
+        private final long storedAt;
+        private final long expiresAt;
+        //One reference is held by the cache for as long as the entry is cached, and one by each user
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        Entry(ResponseCache cache, Path file, MappedByteBuffer content, String contentType, String cacheControl,
+              long storedAt, long expiresAt) {
+            this.cache = cache;
+            this.file = file;
+            this.content = content;
+            this.contentType = contentType;
+            this.cacheControl = cacheControl;
+            this.storedAt = storedAt;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * @return The file holding the payload, guaranteed to exist for a while after the entry is closed
+         */
+        public Path getFile() {
+            return file;
+        }
+
+        /**
+         * @return A read-only view of the memory-mapped payload, not to be accessed after the entry is closed
+         */
+        public ByteBuffer getContent() {
+            return content.asReadOnlyBuffer();
+        }
+
+        public long getLength() {
+            return content.capacity();
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getCacheControl() {
+            return cacheControl;
+        }
+
+        /**
+         * @return The value for the {@code Age} header, i.e. the seconds since the response was cached
+         */
+        public long getAgeSeconds() {
+            return Math.max(0, (System.currentTimeMillis() - storedAt) / 1000);
+        }
+
+        /**
+         * Releases this use of the entry
+         */
+        @Override
+        public void close() {
+            if (references.decrementAndGet() == 0) {
+                cache.release(this);
+            }
+        }
+
+        void retain() {
+            references.incrementAndGet();
+        }
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+
+    private static class PendingDeletion {
+
+        private final Path file;
+        private final long deleteAt;
+
+        PendingDeletion(Path file, long deleteAt) {
+            this.file = file;
+            this.deleteAt = deleteAt;
+        }
+    }
+}
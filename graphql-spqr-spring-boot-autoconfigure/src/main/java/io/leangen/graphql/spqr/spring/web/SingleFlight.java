@@ -0,0 +1,193 @@
+package io.leangen.graphql.spqr.spring.web;
+
+import graphql.language.Definition;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import io.leangen.graphql.spqr.spring.autoconfigure.DocumentCache;
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Coalesces concurrent executions of identical queries: the first request (the leader) executes the operation,
+ * while requests arriving before it completes (the followers) share its outcome instead of executing again.
+ * <p>
+ * Only queries are coalesced, and only for requests carrying none of the configured private headers, as the result
+ * of such requests may depend on the caller. Values of the configured vary headers become part of the key.
+ * Requests are never parsed here: the operation type is read from the document cache when the query has been
+ * executed before, and otherwise a query is only coalesced if it can't contain a mutation or subscription at all.
+ */
+public class SingleFlight {
+
+    private final List<String> privateHeaders;
+    private final List<String> varyHeaders;
+    private final DocumentCache documentCache;
+    private final ConcurrentMap<Key, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    public SingleFlight(Collection<String> privateHeaders, Collection<String> varyHeaders) {
+        this(privateHeaders, varyHeaders, null);
+    }
+
+    /**
+     * @param documentCache Provides the already parsed documents of previously executed queries, possibly {@code null}
+     */
+    public SingleFlight(Collection<String> privateHeaders, Collection<String> varyHeaders, DocumentCache documentCache) {
+        this.privateHeaders = new ArrayList<>(privateHeaders);
+        this.varyHeaders = new ArrayList<>(varyHeaders);
+        this.documentCache = documentCache;
+    }
+
+    /**
+     * @param request The GraphQL request to be executed
+     * @param headers Looks up the first value of a request header by name
+     *
+     * @return The key identifying the request's flight, or {@code null} if the request must be executed on its own
+     */
+    public Object keyFor(GraphQLRequest request, Function<String, String> headers) {
+        if (privateHeaders.stream().anyMatch(header -> headers.apply(header) != null) || !isQuery(request)) {
+            return null;
+        }
+        List<String> partition = varyHeaders.stream().map(headers).collect(Collectors.toList());
+        return new Key(request.getQuery(), request.getOperationName(), request.getVariables(), partition);
+    }
+
+    /**
+     * Joins the flight identified by the given key, starting the execution if no such flight is in progress
+     *
+     * @param key The key obtained from {@link #keyFor(GraphQLRequest, Function)}
+     * @param execution Starts the execution, invoked only by the leader
+     * @param <T> The type of the shared outcome
+     *
+     * @return The outcome shared by all requests in the flight
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> execute(Object key, Supplier<? extends CompletionStage<T>> execution) {
+        Key flightKey = (Key) key;
+        CompletableFuture<T> flight = new CompletableFuture<>();
+        CompletableFuture<T> existing = (CompletableFuture<T>) inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            followers.increment();
+            //A copy, so that no follower can cancel the flight for the others
+            return existing.thenApply(Function.identity());
+        }
+        leaders.increment();
+        flight.whenComplete((result, error) -> inFlight.remove(flightKey, flight));
+        try {
+            execution.get().whenComplete((result, error) -> {
+                if (error != null) {
+                    flight.completeExceptionally(error);
+                } else {
+                    flight.complete(result);
+                }
+            });
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+        }
+        return flight.thenApply(Function.identity());
+    }
+
+    public long getLeaders() {
+        return leaders.sum();
+    }
+
+    public long getFollowers() {
+        return followers.sum();
+    }
+
+    private boolean isQuery(GraphQLRequest request) {
+        String query = request.getQuery();
+        if (query == null) {
+            return false;
+        }
+        Document document = documentCache != null ? documentCache.getParsedDocument(query) : null;
+        if (document == null) {
+            //Keywords are case-sensitive, so a document without these can't hold anything but queries (or be invalid,
+            //in which case all requests in the flight get the same errors)
+            return !query.contains("mutation") && !query.contains("subscription");
+        }
+        List<OperationDefinition> operations = new ArrayList<>();
+        for (Definition<?> definition : document.getDefinitions()) {
+            if (definition instanceof OperationDefinition) {
+                operations.add((OperationDefinition) definition);
+            }
+        }
+        String operationName = request.getOperationName();
+        OperationDefinition operation = operationName == null
+                ? (operations.size() == 1 ? operations.get(0) : null)
+                : operations.stream().filter(op -> operationName.equals(op.getName())).findFirst().orElse(null);
+        return operation != null && operation.getOperation() == OperationDefinition.Operation.QUERY;
+    }
+
+    /**
+     * The outcome of an HTTP execution, as shared by all requests in a flight
+     */
+    public static class Outcome {
+
+        private final Object result;
+        private final String cacheControl;
+
+        public Outcome(Object result, String cacheControl) {
+            this.result = result;
+            this.cacheControl = cacheControl;
+        }
+
+        public Object getResult() {
+            return result;
+        }
+
+        /**
+         * @return The {@code Cache-Control} header set by the leader's execution, if any
+         */
+        public String getCacheControl() {
+            return cacheControl;
+        }
+    }
+
+    private static final class Key {
+
+        private final String query;
+        private final String operationName;
+        private final Map<String, Object> variables;
+        private final List<String> partition;
+        private final int hash;
+
+        Key(String query, String operationName, Map<String, Object> variables, List<String> partition) {
+            this.query = query;
+            this.operationName = operationName;
+            this.variables = variables;
+            this.partition = partition;
+            this.hash = Objects.hash(query, operationName, variables, partition);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return hash == that.hash
+                    && query.equals(that.query)
+                    && Objects.equals(operationName, that.operationName)
+                    && Objects.equals(variables, that.variables)
+                    && partition.equals(that.partition);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -26,12 +26,15 @@ import static io.leangen.graphql.spqr.spring.web.apollo.ApolloMessage.GQL_CONNEC
 import static io.leangen.graphql.spqr.spring.web.apollo.ApolloMessage.GQL_START;
 import static io.leangen.graphql.spqr.spring.web.apollo.ApolloMessage.GQL_STOP;
 
+//Sends from several threads, so the sessions it's given must serialize their writes (see PerConnectionApolloHandler)
 class ApolloProtocolHandler extends TextWebSocketHandler {
 
     private final GraphQL graphQL;
     private final GraphQLWebSocketExecutor executor;
     private final TaskScheduler taskScheduler;
+    private final boolean keepAliveEnabled;
     private final int keepAliveInterval;
+    private final SubscriptionConflation conflation;
     private final Map<String, Subscription> subscriptions = new ConcurrentHashMap<>();
     private final AtomicReference<ScheduledFuture<?>> keepAlive = new AtomicReference<>();
 
@@ -39,24 +42,32 @@ class ApolloProtocolHandler extends TextWebSocketHandler {
 
     public ApolloProtocolHandler(GraphQL graphQL, GraphQLWebSocketExecutor executor,
                                  TaskScheduler taskScheduler, int keepAliveInterval) {
+        this(graphQL, executor, taskScheduler, taskScheduler != null, keepAliveInterval, SubscriptionConflation.NONE);
+    }
+
+    public ApolloProtocolHandler(GraphQL graphQL, GraphQLWebSocketExecutor executor, TaskScheduler taskScheduler,
+                                 boolean keepAliveEnabled, int keepAliveInterval, SubscriptionConflation conflation) {
         this.graphQL = graphQL;
         this.executor = executor;
         this.taskScheduler = taskScheduler;
+        this.keepAliveEnabled = keepAliveEnabled && taskScheduler != null;
         this.keepAliveInterval = keepAliveInterval;
+        this.conflation = conflation;
     }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
         super.afterConnectionEstablished(session);
-        if (taskScheduler != null) {
+        if (keepAliveEnabled) {
             this.keepAlive.compareAndSet(null, taskScheduler.scheduleWithFixedDelay(keepAliveTask(session), Math.max(keepAliveInterval, 1000)));
         }
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        executor.cancel(session);
         cancelAll();
-        if (taskScheduler != null) {
+        if (keepAliveEnabled) {
             this.keepAlive.getAndUpdate(task -> {
                 if (task != null) {
                     task.cancel(false);
@@ -69,6 +80,7 @@ class ApolloProtocolHandler extends TextWebSocketHandler {
     @Override
     public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
         session.close(CloseStatus.SERVER_ERROR);
+        executor.cancel(session);
         cancelAll();
     }
 
@@ -85,7 +97,7 @@ class ApolloProtocolHandler extends TextWebSocketHandler {
             switch (apolloMessage.getType()) {
                 case GQL_CONNECTION_INIT:
                     session.sendMessage(ApolloMessage.connectionAck());
-                    if (taskScheduler != null) {
+                    if (keepAliveEnabled) {
                         session.sendMessage(ApolloMessage.keepAlive());
                     }
                     break;
@@ -93,7 +105,12 @@ class ApolloProtocolHandler extends TextWebSocketHandler {
                     GraphQLRequest request = ((StartMessage) apolloMessage).getPayload();
                     ExecutionResult result = executor.execute(graphQL, request, session);
                     if (result.getData() instanceof Publisher) {
-                        handleSubscription(apolloMessage.getId(), result, session);
+                        long window = taskScheduler != null ? conflation.getWindowMillis(request) : 0;
+                        if (window > 0) {
+                            handleConflatedSubscription(apolloMessage.getId(), result, session, window);
+                        } else {
+                            handleSubscription(apolloMessage.getId(), result, session);
+                        }
                     } else {
                         handleQueryOrMutation(apolloMessage.getId(), result, session);
                     }
@@ -107,6 +124,7 @@ class ApolloProtocolHandler extends TextWebSocketHandler {
                     break;
                 case GQL_CONNECTION_TERMINATE:
                     session.close();
+                    executor.cancel(session);
                     cancelAll();
                     break;
             }
@@ -138,15 +156,7 @@ class ApolloProtocolHandler extends TextWebSocketHandler {
 
             @Override
             public void onNext(ExecutionResult executionResult) {
-                try {
-                    if (executionResult.getErrors().isEmpty()) {
-                        session.sendMessage(ApolloMessage.data(id, executionResult));
-                    } else {
-                        session.sendMessage(ApolloMessage.error(id, executionResult.getErrors()));
-                    }
-                } catch (IOException e) {
-                    fatalError(session, e);
-                }
+                sendResult(id, executionResult, session);
                 request(1);
             }
 
@@ -178,6 +188,92 @@ class ApolloProtocolHandler extends TextWebSocketHandler {
         stream.subscribe(subscriber);
     }
 
+    //Requests events as fast as they come, but only sends the latest one received in each window.
+    //The superseded events are dropped before serialization, so they cost neither CPU nor socket writes
+    private void handleConflatedSubscription(String id, ExecutionResult result, WebSocketSession session, long window) {
+        Publisher<ExecutionResult> stream = result.getData();
+        Subscriber<ExecutionResult> subscriber = new Subscriber<ExecutionResult>() {
+            private final AtomicReference<ExecutionResult> latest = new AtomicReference<>();
+            private volatile ScheduledFuture<?> flushTask;
+
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscriptions.put(id, new Subscription() {
+                    @Override
+                    public void request(long n) {
+                        subscription.request(n);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        stopFlushing();
+                        subscription.cancel();
+                    }
+                });
+                flushTask = taskScheduler.scheduleAtFixedRate(this::flush, window);
+                subscription.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ExecutionResult executionResult) {
+                latest.set(executionResult);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                stopFlushing();
+                synchronized (this) {
+                    flush();
+                    try {
+                        session.sendMessage(ApolloMessage.error(id, t));
+                    } catch (IOException e) {
+                        fatalError(session, e);
+                    }
+                }
+            }
+
+            @Override
+            public void onComplete() {
+                stopFlushing();
+                synchronized (this) {
+                    flush();
+                    try {
+                        session.sendMessage(ApolloMessage.complete(id));
+                    } catch (IOException e) {
+                        fatalError(session, e);
+                    }
+                }
+            }
+
+            private synchronized void flush() {
+                ExecutionResult executionResult = latest.getAndSet(null);
+                if (executionResult != null && session.isOpen()) {
+                    sendResult(id, executionResult, session);
+                }
+            }
+
+            private void stopFlushing() {
+                ScheduledFuture<?> flushTask = this.flushTask;
+                if (flushTask != null) {
+                    flushTask.cancel(false);
+                }
+            }
+        };
+        stream.subscribe(subscriber);
+    }
+
+    private void sendResult(String id, ExecutionResult executionResult, WebSocketSession session) {
+        try {
+            if (executionResult.getErrors().isEmpty()) {
+                session.sendMessage(ApolloMessage.data(id, executionResult));
+            } else {
+                session.sendMessage(ApolloMessage.error(id, executionResult.getErrors()));
+            }
+        } catch (IOException e) {
+            fatalError(session, e);
+        }
+    }
+
     void cancelAll() {
         synchronized (subscriptions) {
             subscriptions.values().forEach(Subscription::cancel);
@@ -189,6 +285,7 @@ class ApolloProtocolHandler extends TextWebSocketHandler {
         try {
             session.close(CloseStatus.SESSION_NOT_RELIABLE);
         } catch (Exception ignored) {/*no-op*/}
+        executor.cancel(session);
         cancelAll();
         log.warn(String.format("WebSocket session %s (%s) closed due to an exception", session.getId(), session.getRemoteAddress()), exception);
     }
@@ -8,6 +8,7 @@ import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
 
 import javax.annotation.PreDestroy;
 import java.io.IOException;
@@ -16,49 +17,76 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Handles each connection with its own {@link ApolloProtocolHandler}.
+ * Messages are sent from the subscription, keep-alive and flushing threads alike, so each session is decorated
+ * to serialize its writes. A session whose client stops reading is closed once its pending messages exceed
+ * {@value #SEND_BUFFER_SIZE_LIMIT} bytes or a single send takes over {@value #SEND_TIME_LIMIT} ms.
+ */
 public class PerConnectionApolloHandler implements WebSocketHandler, SubProtocolCapable {
 
+    static final int SEND_TIME_LIMIT = 10_000;
+    static final int SEND_BUFFER_SIZE_LIMIT = 512 * 1024;
+
     private final GraphQL graphQL;
     private final GraphQLWebSocketExecutor executor;
     private final TaskScheduler taskScheduler;
+    private final boolean keepAliveEnabled;
     private final int keepAliveInterval;
-    private final Map<WebSocketSession, ApolloProtocolHandler> handlers;
+    private final SubscriptionConflation conflation;
+    private final Map<WebSocketSession, Connection> connections;
 
     private static final List<String> GRAPHQL_WS = Collections.singletonList("graphql-ws");
 
     public PerConnectionApolloHandler(GraphQL graphQL, GraphQLWebSocketExecutor executor,
                                       TaskScheduler taskScheduler, int keepAliveInterval) {
+        this(graphQL, executor, taskScheduler, taskScheduler != null, keepAliveInterval, SubscriptionConflation.NONE);
+    }
+
+    /**
+     * @param taskScheduler the scheduler running the keep-alive messages and flushing the conflated subscriptions
+     * @param keepAliveEnabled whether keep-alive messages should be sent
+     * @param conflation decides which subscriptions are conflated and for how long
+     */
+    public PerConnectionApolloHandler(GraphQL graphQL, GraphQLWebSocketExecutor executor, TaskScheduler taskScheduler,
+                                      boolean keepAliveEnabled, int keepAliveInterval, SubscriptionConflation conflation) {
         this.graphQL = graphQL;
         this.executor = executor;
         this.taskScheduler = taskScheduler;
+        this.keepAliveEnabled = keepAliveEnabled;
         this.keepAliveInterval = keepAliveInterval;
-        this.handlers = new ConcurrentHashMap<>();
+        this.conflation = conflation;
+        this.connections = new ConcurrentHashMap<>();
     }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-        ApolloProtocolHandler handler = new ApolloProtocolHandler(graphQL, executor, taskScheduler, keepAliveInterval);
-        this.handlers.put(session, handler);
-        handler.afterConnectionEstablished(session);
+        ApolloProtocolHandler handler = new ApolloProtocolHandler(graphQL, executor, taskScheduler, keepAliveEnabled, keepAliveInterval, conflation);
+        Connection connection = new Connection(new ConcurrentWebSocketSessionDecorator(session, SEND_TIME_LIMIT, SEND_BUFFER_SIZE_LIMIT), handler);
+        this.connections.put(session, connection);
+        handler.afterConnectionEstablished(connection.session);
     }
 
     @Override
     public void handleMessage(WebSocketSession session, WebSocketMessage<?> message) throws Exception {
-        getHandler(session).handleMessage(session, message);
+        Connection connection = getConnection(session);
+        connection.handler.handleMessage(connection.session, message);
     }
 
     @Override
     public void handleTransportError(WebSocketSession session, Throwable exception) throws Exception {
-        getHandler(session).handleTransportError(session, exception);
+        Connection connection = getConnection(session);
+        connection.handler.handleTransportError(connection.session, exception);
     }
 
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
         try {
-            getHandler(session).afterConnectionClosed(session, closeStatus);
+            Connection connection = getConnection(session);
+            connection.handler.afterConnectionClosed(connection.session, closeStatus);
         }
         finally {
-            this.handlers.remove(session);
+            this.connections.remove(session);
         }
     }
 
@@ -74,21 +102,32 @@ public class PerConnectionApolloHandler implements WebSocketHandler, SubProtocol
 
     @PreDestroy
     public void cancelAll() {
-        this.handlers.forEach((session, handler) -> {
+        this.connections.forEach((session, connection) -> {
             try {
-                session.close(CloseStatus.GOING_AWAY);
+                connection.session.close(CloseStatus.GOING_AWAY);
             } catch (IOException ignored) {
                 /*no-op*/
             }
-            handler.cancelAll();
+            connection.handler.cancelAll();
         });
     }
 
-    private WebSocketHandler getHandler(WebSocketSession session) {
-        WebSocketHandler handler = this.handlers.get(session);
-        if (handler == null) {
+    private Connection getConnection(WebSocketSession session) {
+        Connection connection = this.connections.get(session);
+        if (connection == null) {
             throw new IllegalStateException("WebSocketHandler not found for " + session);
         }
-        return handler;
+        return connection;
+    }
+
+    private static class Connection {
+
+        private final WebSocketSession session;
+        private final ApolloProtocolHandler handler;
+
+        Connection(WebSocketSession session, ApolloProtocolHandler handler) {
+            this.session = session;
+            this.handler = handler;
+        }
     }
 }
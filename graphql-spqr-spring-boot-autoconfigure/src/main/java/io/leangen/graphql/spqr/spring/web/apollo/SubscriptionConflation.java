@@ -0,0 +1,92 @@
+package io.leangen.graphql.spqr.spring.web.apollo;
+
+import graphql.language.Definition;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.parser.InvalidSyntaxException;
+import graphql.parser.Parser;
+import io.leangen.graphql.spqr.spring.autoconfigure.DocumentCache;
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decides how long the events of a subscription are conflated for before being sent.
+ * Within each window, only the latest event of a subscription is sent and the ones it superseded are dropped,
+ * which suits ticker-like feeds producing far more events than a client can render.
+ */
+public class SubscriptionConflation {
+
+    public static final SubscriptionConflation NONE = new SubscriptionConflation(0, Collections.emptyMap());
+
+    private final long defaultWindowMillis;
+    private final Map<String, Long> fieldWindowMillis;
+    private final DocumentCache documentCache;
+
+    public SubscriptionConflation(long defaultWindowMillis, Map<String, Long> fieldWindowMillis) {
+        this(defaultWindowMillis, fieldWindowMillis, null);
+    }
+
+    /**
+     * @param defaultWindowMillis the window for the subscriptions to the fields not listed explicitly (0 disables it)
+     * @param fieldWindowMillis the windows for the subscriptions to the specific root fields
+     * @param documentCache provides the documents parsed when the subscriptions were executed, so that finding
+     *                      their root fields needs no parsing. If {@code null}, the subscriptions are parsed again.
+     */
+    public SubscriptionConflation(long defaultWindowMillis, Map<String, Long> fieldWindowMillis, DocumentCache documentCache) {
+        this.defaultWindowMillis = defaultWindowMillis;
+        this.fieldWindowMillis = new HashMap<>(fieldWindowMillis);
+        this.documentCache = documentCache;
+    }
+
+    public boolean isEnabled() {
+        return defaultWindowMillis > 0 || fieldWindowMillis.values().stream().anyMatch(window -> window > 0);
+    }
+
+    /**
+     * @return the conflation window for the given subscription request, or 0 if its events are to be sent as they come
+     */
+    public long getWindowMillis(GraphQLRequest request) {
+        if (fieldWindowMillis.isEmpty()) {
+            return defaultWindowMillis;
+        }
+        String field = rootField(request);
+        return field != null ? fieldWindowMillis.getOrDefault(field, defaultWindowMillis) : defaultWindowMillis;
+    }
+
+    //A subscription has exactly one root field, found by name rather than alias
+    private String rootField(GraphQLRequest request) {
+        Document document;
+        if (documentCache != null) {
+            //The subscription has just been executed, so its document is cached unless it was invalid
+            document = documentCache.getParsedDocument(request.getQuery());
+            if (document == null) {
+                return null;
+            }
+        } else {
+            try {
+                document = new Parser().parseDocument(request.getQuery());
+            } catch (InvalidSyntaxException e) {
+                return null;
+            }
+        }
+        for (Definition<?> definition : document.getDefinitions()) {
+            if (definition instanceof OperationDefinition) {
+                OperationDefinition operation = (OperationDefinition) definition;
+                if (operation.getOperation() == OperationDefinition.Operation.SUBSCRIPTION
+                        && (request.getOperationName() == null || request.getOperationName().equals(operation.getName()))) {
+                    for (Selection<?> selection : operation.getSelectionSet().getSelections()) {
+                        if (selection instanceof Field) {
+                            return ((Field) selection).getName();
+                        }
+                    }
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -1,26 +1,34 @@
 package io.leangen.graphql.spqr.spring.web.dto;
 
-import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import java.util.Collections;
 import java.util.Map;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
+@JsonDeserialize(using = GraphQLRequestDeserializer.class)
 public class GraphQLRequest {
 
     private final String query;
     private final String operationName;
     private final Map<String, Object> variables;
+    private final Map<String, Object> extensions;
 
-    @JsonCreator
-    public GraphQLRequest(@JsonProperty("query") String query,
-                          @JsonProperty("operationName") String operationName,
-                          @JsonProperty("variables") Map<String, Object> variables) {
+    //The only public constructor, as Spring binds request parameters through it
+    public GraphQLRequest(String query, String operationName, Map<String, Object> variables) {
+        this(query, operationName, variables, null);
+    }
+
+    private GraphQLRequest(String query, String operationName, Map<String, Object> variables, Map<String, Object> extensions) {
         this.query = query;
         this.operationName = operationName;
         this.variables = variables != null ? variables : Collections.emptyMap();
+        this.extensions = extensions != null ? extensions : Collections.emptyMap();
+    }
+
+    public static GraphQLRequest of(String query, String operationName, Map<String, Object> variables, Map<String, Object> extensions) {
+        return new GraphQLRequest(query, operationName, variables, extensions);
     }
 
     public String getQuery() {
@@ -34,4 +42,11 @@ public class GraphQLRequest {
     public Map<String, Object> getVariables() {
         return variables;
     }
+
+    /**
+     * @return The protocol extensions sent along with the request (e.g. persisted query hashes), never {@code null}
+     */
+    public Map<String, Object> getExtensions() {
+        return extensions;
+    }
 }
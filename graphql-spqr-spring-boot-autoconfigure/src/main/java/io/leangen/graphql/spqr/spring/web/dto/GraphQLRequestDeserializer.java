@@ -0,0 +1,78 @@
+package io.leangen.graphql.spqr.spring.web.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reads a {@link GraphQLRequest} in a single pass over the token stream, without an intermediate tree or
+ * property-based creator buffering. Only {@code variables} and {@code extensions} allocate maps, and only when present.
+ */
+public class GraphQLRequestDeserializer extends StdDeserializer<GraphQLRequest> {
+
+    private static final JavaType MAP = TypeFactory.defaultInstance().constructMapType(LinkedHashMap.class, String.class, Object.class);
+
+    public GraphQLRequestDeserializer() {
+        super(GraphQLRequest.class);
+    }
+
+    @Override
+    public GraphQLRequest deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        }
+        String query = null;
+        String operationName = null;
+        Map<String, Object> variables = null;
+        Map<String, Object> extensions = null;
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "query":
+                    query = text(parser, value, context);
+                    break;
+                case "operationName":
+                    operationName = text(parser, value, context);
+                    break;
+                case "variables":
+                    variables = map(parser, value, context);
+                    break;
+                case "extensions":
+                    extensions = map(parser, value, context);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            return (GraphQLRequest) context.handleUnexpectedToken(GraphQLRequest.class, parser);
+        }
+        return GraphQLRequest.of(query, operationName, variables, extensions);
+    }
+
+    private static String text(JsonParser parser, JsonToken value, DeserializationContext context) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (value != JsonToken.VALUE_STRING) {
+            context.reportWrongTokenException(String.class, JsonToken.VALUE_STRING, "Expected '%s' to be a string", parser.getCurrentName());
+        }
+        return parser.getText();
+    }
+
+    private static Map<String, Object> map(JsonParser parser, JsonToken value, DeserializationContext context) throws IOException {
+        if (value == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return context.readValue(parser, MAP);
+    }
+}
@@ -0,0 +1,79 @@
+package io.leangen.graphql.spqr.spring.web.reactive;
+
+import graphql.GraphQL;
+import io.leangen.graphql.spqr.spring.web.RequestDeadline;
+import io.leangen.graphql.spqr.spring.web.SingleFlight;
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+import org.reactivestreams.Publisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lets concurrent identical queries share a single execution by the delegate executor.
+ * The shared execution is detached from the leader's subscription, so it runs to completion
+ * even if the leader's client goes away while others are waiting on it. Followers wait no longer than their
+ * own deadline allows, failing with {@link HttpStatus#SERVICE_UNAVAILABLE} once it passes.
+ *
+ * @see SingleFlight
+ */
+public class CoalescingGraphQLExecutor implements GraphQLReactiveExecutor {
+
+    private final GraphQLReactiveExecutor delegate;
+    private final SingleFlight singleFlight;
+    private final RequestDeadline deadline;
+
+    public CoalescingGraphQLExecutor(GraphQLReactiveExecutor delegate, SingleFlight singleFlight) {
+        this(delegate, singleFlight, null);
+    }
+
+    /**
+     * @param deadline Determines how long followers wait for the leader, possibly {@code null} to wait indefinitely
+     */
+    public CoalescingGraphQLExecutor(GraphQLReactiveExecutor delegate, SingleFlight singleFlight, RequestDeadline deadline) {
+        this.delegate = delegate;
+        this.singleFlight = singleFlight;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public Object execute(GraphQL graphQL, GraphQLRequest graphQLRequest, ServerWebExchange request) {
+        Object key = singleFlight.keyFor(graphQLRequest, request.getRequest().getHeaders()::getFirst);
+        if (key == null) {
+            return delegate.execute(graphQL, graphQLRequest, request);
+        }
+        long timeoutMillis = deadline == null ? 0 : deadline.timeoutMillis(
+                deadline.getHeader() == null ? null : request.getRequest().getHeaders().getFirst(deadline.getHeader()));
+        return Mono.subscriberContext()
+                .flatMap(ctx -> {
+                    AtomicBoolean leader = new AtomicBoolean();
+                    Mono<SingleFlight.Outcome> flight = Mono.fromFuture(singleFlight.<SingleFlight.Outcome>execute(key, () -> {
+                        leader.set(true);
+                        return toMono(delegate.execute(graphQL, graphQLRequest, request))
+                                .map(result -> new SingleFlight.Outcome(result, request.getResponse().getHeaders().getCacheControl()))
+                                .subscriberContext(ctx)
+                                .toFuture();
+                    }));
+                    //The leader's execution is bounded by its own deadline already. Followers give up waiting on it,
+                    //while the shared execution carries on for the others
+                    return leader.get() || timeoutMillis <= 0 ? flight : flight.timeout(Duration.ofMillis(timeoutMillis))
+                            .onErrorMap(TimeoutException.class, e -> new ResponseStatusException(
+                                    HttpStatus.SERVICE_UNAVAILABLE, "Deadline exceeded while waiting for an identical query", e));
+                })
+                .map(outcome -> {
+                    if (outcome.getCacheControl() != null) {
+                        request.getResponse().getHeaders().setCacheControl(outcome.getCacheControl());
+                    }
+                    return outcome.getResult();
+                });
+    }
+
+    private static Mono<Object> toMono(Object result) {
+        return result instanceof Publisher ? Mono.<Object>from((Publisher<?>) result) : Mono.justOrEmpty(result);
+    }
+}
@@ -1,10 +1,14 @@
 package io.leangen.graphql.spqr.spring.web.reactive;
 
-import graphql.ExecutionResult;
+import graphql.ExecutionInput;
 import graphql.GraphQL;
+import io.leangen.graphql.spqr.spring.autoconfigure.CachePolicy;
 import io.leangen.graphql.spqr.spring.autoconfigure.DataLoaderRegistryFactory;
+import io.leangen.graphql.spqr.spring.autoconfigure.DefaultGlobalContext;
 import io.leangen.graphql.spqr.spring.autoconfigure.ReactiveContextFactory;
+import io.leangen.graphql.spqr.spring.web.RequestDeadline;
 import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
@@ -14,17 +18,40 @@ public class DefaultGraphQLExecutor implements GraphQLReactiveExecutor {
 
     private final ReactiveContextFactory contextFactory;
     private final DataLoaderRegistryFactory dataLoaderRegistryFactory;
+    private final RequestDeadline deadline;
 
     public DefaultGraphQLExecutor(ReactiveContextFactory contextFactory, DataLoaderRegistryFactory dataLoaderRegistryFactory) {
+        this(contextFactory, dataLoaderRegistryFactory, null);
+    }
+
+    public DefaultGraphQLExecutor(ReactiveContextFactory contextFactory, DataLoaderRegistryFactory dataLoaderRegistryFactory,
+                                  RequestDeadline deadline) {
         this.contextFactory = contextFactory;
         this.dataLoaderRegistryFactory = dataLoaderRegistryFactory;
+        this.deadline = deadline;
     }
 
     @Override
     public Mono<Map<String, Object>> execute(GraphQL graphQL, GraphQLRequest graphQLRequest, ServerWebExchange request) {
-        return Mono.subscriberContext().flatMap(ctx -> Mono.fromFuture(
-                graphQL.executeAsync(buildInput(graphQLRequest, request, ctx, contextFactory, dataLoaderRegistryFactory))
-                        .thenApply(ExecutionResult::toSpecification))
-        );
+        return Mono.subscriberContext().flatMap(ctx -> {
+            ExecutionInput input = buildInput(graphQLRequest, request, ctx, contextFactory, dataLoaderRegistryFactory);
+            if (deadline != null) {
+                deadline.apply(input.getContext(), deadline.getHeader() == null ? null : request.getRequest().getHeaders().getFirst(deadline.getHeader()));
+            }
+            return Mono.fromFuture(graphQL.executeAsync(input))
+                    //The client went away, so stop resolving whatever is still pending.
+                    //Cancelling graphql-java's future wouldn't stop the execution, but a cancelled context makes resolvers fail fast
+                    .doOnCancel(() -> DefaultGlobalContext.cancel(input.getContext()))
+                    .map(executionResult -> {
+                        //Only GET responses are cacheable by HTTP caches
+                        if (request.getRequest().getMethod() == HttpMethod.GET) {
+                            String cacheControl = CachePolicy.headerValue(input.getContext(), executionResult);
+                            if (cacheControl != null) {
+                                request.getResponse().getHeaders().setCacheControl(cacheControl);
+                            }
+                        }
+                        return executionResult.toSpecification();
+                    });
+        });
     }
 }
@@ -0,0 +1,79 @@
+package io.leangen.graphql.spqr.spring.web.reactive;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * The WebFlux counterpart of {@link org.springframework.web.filter.ShallowEtagHeaderFilter}, limited to GET requests
+ * to the GraphQL endpoint: adds a strong {@code ETag} computed from the serialized response, and answers with
+ * {@code 304 Not Modified} (and no body) when it matches the request's {@code If-None-Match}.
+ */
+public class EtagWebFilter implements WebFilter {
+
+    private final String endpoint;
+
+    public EtagWebFilter(String endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || !endpoint.equals(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange.mutate().response(new EtagResponse(exchange.getResponse(), request)).build());
+    }
+
+    private static class EtagResponse extends ServerHttpResponseDecorator {
+
+        private final ServerHttpRequest request;
+
+        EtagResponse(ServerHttpResponse delegate, ServerHttpRequest request) {
+            super(delegate);
+            this.request = request;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return DataBufferUtils.join(body).flatMap(buffer -> {
+                HttpStatus status = getStatusCode();
+                if (status != null && !status.is2xxSuccessful()) {
+                    return super.writeWith(Mono.just(buffer));
+                }
+                String etag = etag(buffer);
+                getHeaders().setETag(etag);
+                if (request.getHeaders().getIfNoneMatch().contains(etag)) {
+                    DataBufferUtils.release(buffer);
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    return setComplete();
+                }
+                return super.writeWith(Mono.just(buffer));
+            });
+        }
+
+        //Reads the buffer through a view, leaving its read position intact
+        private static String etag(DataBuffer buffer) {
+            try (InputStream content = buffer.slice(buffer.readPosition(), buffer.readableByteCount()).asInputStream()) {
+                return "\"0" + DigestUtils.md5DigestAsHex(content) + "\"";
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.leangen.graphql.spqr.spring.web.reactive;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.GraphQL;
+import io.leangen.graphql.spqr.spring.web.MultipartRequests;
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageReader;
+import org.springframework.http.codec.multipart.FormFieldPart;
+import org.springframework.http.codec.multipart.Part;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Executes GraphQL multipart requests on WebFlux. Uploaded files are bound into the variables as
+ * {@link org.springframework.http.codec.multipart.FilePart}s, whose content resolvers consume as a stream of
+ * {@link org.springframework.core.io.buffer.DataBuffer}s, read from where the part reader stored them.
+ */
+public class MultipartRequestHandler implements HandlerFunction<ServerResponse> {
+
+    private static final ResolvableType PARTS = ResolvableType.forClassWithGenerics(MultiValueMap.class, String.class, Part.class);
+    private static final TypeReference<Map<String, List<String>>> FILE_MAPPINGS = new TypeReference<Map<String, List<String>>>() {};
+
+    private final GraphQL graphQL;
+    private final GraphQLReactiveExecutor executor;
+    private final HttpMessageReader<MultiValueMap<String, Part>> multipartReader;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * @param multipartReader The reader parsing the request, responsible for keeping file content out of memory and enforcing size limits
+     */
+    public MultipartRequestHandler(GraphQL graphQL, GraphQLReactiveExecutor executor, HttpMessageReader<MultiValueMap<String, Part>> multipartReader) {
+        this.graphQL = graphQL;
+        this.executor = executor;
+        this.multipartReader = multipartReader;
+    }
+
+    @Override
+    public Mono<ServerResponse> handle(ServerRequest request) {
+        ServerWebExchange exchange = request.exchange();
+        return multipartReader.readMono(PARTS, exchange.getRequest(), Collections.emptyMap())
+                //The reader signals exceeded size and part limits as decoding failures, which are the client's fault
+                .onErrorMap(DecodingException.class, e -> new ServerWebInputException(e.getMessage(), null, e))
+                .switchIfEmpty(Mono.error(() -> new ServerWebInputException("Multipart request has no parts")))
+                .flatMap(parts -> {
+                    GraphQLRequest operations = read(parts, "operations", objectMapper.constructType(GraphQLRequest.class));
+                    Map<String, List<String>> fileMappings = read(parts, "map", objectMapper.getTypeFactory().constructType(FILE_MAPPINGS));
+                    GraphQLRequest graphQLRequest;
+                    try {
+                        graphQLRequest = MultipartRequests.bindFiles(operations, fileMappings, parts::getFirst);
+                    } catch (IllegalArgumentException e) {
+                        return Mono.error(new ServerWebInputException(e.getMessage()));
+                    }
+                    return respond(executor.execute(graphQL, graphQLRequest, exchange));
+                });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Mono<ServerResponse> respond(Object result) {
+        ServerResponse.BodyBuilder response = ServerResponse.ok().contentType(MediaType.APPLICATION_JSON);
+        return result instanceof Publisher
+                ? response.body(BodyInserters.fromPublisher((Publisher<Object>) result, Object.class))
+                : response.body(BodyInserters.fromValue(result));
+    }
+
+    private <T> T read(MultiValueMap<String, Part> parts, String name, JavaType type) {
+        Part part = parts.getFirst(name);
+        if (!(part instanceof FormFieldPart)) {
+            throw new ServerWebInputException("Missing multipart field " + name);
+        }
+        try {
+            return objectMapper.readValue(((FormFieldPart) part).value(), type);
+        } catch (IOException e) {
+            throw new ServerWebInputException("Invalid multipart field " + name + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package io.leangen.graphql.spqr.spring.web.reactive;
+
+import io.leangen.graphql.spqr.spring.web.ResponseCache;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * The WebFlux counterpart of {@link io.leangen.graphql.spqr.spring.web.servlet.ResponseCacheFilter}.
+ * Cached payloads are sent with zero-copy when the server supports it (e.g. Reactor Netty),
+ * and are otherwise written straight from their memory mapping.
+ */
+public class ResponseCacheWebFilter implements WebFilter {
+
+    private final ResponseCache cache;
+    private final String endpoint;
+
+    public ResponseCacheWebFilter(ResponseCache cache, String endpoint) {
+        this.cache = cache;
+        this.endpoint = endpoint;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != HttpMethod.GET || !endpoint.equals(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        String rawQuery = request.getURI().getRawQuery();
+        String key = rawQuery == null ? request.getURI().getRawPath() : request.getURI().getRawPath() + '?' + rawQuery;
+        ServerHttpResponse response = exchange.getResponse();
+        ResponseCache.Entry entry = cache.get(key);
+        if (entry != null) {
+            return Mono.defer(() -> send(entry, response)).doFinally(signal -> entry.close());
+        }
+        return chain.filter(exchange.mutate().response(new CachingResponse(response, key)).build());
+    }
+
+    private static Mono<Void> send(ResponseCache.Entry entry, ServerHttpResponse response) {
+        HttpHeaders headers = response.getHeaders();
+        response.setStatusCode(HttpStatus.OK);
+        if (entry.getContentType() != null) {
+            headers.setContentType(MediaType.parseMediaType(entry.getContentType()));
+        }
+        headers.setCacheControl(entry.getCacheControl());
+        headers.set(HttpHeaders.AGE, Long.toString(entry.getAgeSeconds()));
+        headers.setContentLength(entry.getLength());
+        if (response instanceof ZeroCopyHttpOutputMessage) {
+            return ((ZeroCopyHttpOutputMessage) response).writeWith(entry.getFile(), 0, entry.getLength());
+        }
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(entry.getContent())));
+    }
+
+    private class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final String key;
+
+        CachingResponse(ServerHttpResponse delegate, String key) {
+            super(delegate);
+            this.key = key;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatus status = getStatusCode();
+            if (status != null && status != HttpStatus.OK) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+                MediaType contentType = getHeaders().getContentType();
+                cache.put(key, bytes, contentType == null ? null : contentType.toString(), getHeaders().getCacheControl());
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package io.leangen.graphql.spqr.spring.web.reactive;
 
 import io.leangen.graphql.spqr.spring.autoconfigure.DefaultGlobalContext;
+import io.leangen.graphql.spqr.spring.autoconfigure.EntityCacheStats;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.util.context.Context;
 
@@ -9,7 +10,11 @@ public class WebFluxContext extends DefaultGlobalContext<ServerWebExchange> {
     private final Context subscriberContext;
 
     public WebFluxContext(ServerWebExchange request, Context subscriberContext) {
-        super(request);
+        this(request, subscriberContext, null);
+    }
+
+    public WebFluxContext(ServerWebExchange request, Context subscriberContext, EntityCacheStats entityCacheStats) {
+        super(request, entityCacheStats);
         this.subscriberContext = subscriberContext;
     }
 
@@ -0,0 +1,80 @@
+package io.leangen.graphql.spqr.spring.web.servlet;
+
+import graphql.GraphQL;
+import io.leangen.graphql.spqr.spring.web.RequestDeadline;
+import io.leangen.graphql.spqr.spring.web.SingleFlight;
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Lets concurrent identical queries share a single execution by the delegate executor.
+ * Followers block until the leader's execution completes, but no longer than their own deadline allows,
+ * failing with {@link HttpStatus#SERVICE_UNAVAILABLE} once it passes.
+ *
+ * @see SingleFlight
+ */
+public class CoalescingGraphQLExecutor implements GraphQLServletExecutor {
+
+    private final GraphQLServletExecutor delegate;
+    private final SingleFlight singleFlight;
+    private final RequestDeadline deadline;
+
+    public CoalescingGraphQLExecutor(GraphQLServletExecutor delegate, SingleFlight singleFlight) {
+        this(delegate, singleFlight, null);
+    }
+
+    /**
+     * @param deadline Determines how long followers wait for the leader, possibly {@code null} to wait indefinitely
+     */
+    public CoalescingGraphQLExecutor(GraphQLServletExecutor delegate, SingleFlight singleFlight, RequestDeadline deadline) {
+        this.delegate = delegate;
+        this.singleFlight = singleFlight;
+        this.deadline = deadline;
+    }
+
+    @Override
+    public Object execute(GraphQL graphQL, GraphQLRequest graphQLRequest, NativeWebRequest request) {
+        Object key = singleFlight.keyFor(graphQLRequest, request::getHeader);
+        if (key == null) {
+            return delegate.execute(graphQL, graphQLRequest, request);
+        }
+        long timeoutMillis = deadline == null ? 0 : deadline.timeoutMillis(deadline.getHeader() == null ? null : request.getHeader(deadline.getHeader()));
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        //The leader executes synchronously, so only followers can find the flight still in progress
+        CompletableFuture<SingleFlight.Outcome> flight = singleFlight.execute(key, () -> {
+            Object result = delegate.execute(graphQL, graphQLRequest, request);
+            return CompletableFuture.completedFuture(new SingleFlight.Outcome(
+                    result, response == null ? null : response.getHeader(HttpHeaders.CACHE_CONTROL)));
+        });
+        SingleFlight.Outcome outcome = await(flight, timeoutMillis);
+        if (response != null && outcome.getCacheControl() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, outcome.getCacheControl());
+        }
+        return outcome.getResult();
+    }
+
+    private static SingleFlight.Outcome await(CompletableFuture<SingleFlight.Outcome> flight, long timeoutMillis) {
+        try {
+            return timeoutMillis > 0 ? flight.get(timeoutMillis, TimeUnit.MILLISECONDS) : flight.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Deadline exceeded while waiting for an identical query", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while waiting for an identical query", e);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package io.leangen.graphql.spqr.spring.web.servlet;
 
 import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import io.leangen.graphql.spqr.spring.autoconfigure.DocumentCache;
 import io.leangen.graphql.spqr.spring.web.GraphQLController;
+import io.leangen.graphql.spqr.spring.web.IntrospectionCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.RestController;
@@ -15,4 +18,14 @@ public class DefaultGraphQLController extends GraphQLController<NativeWebRequest
     public DefaultGraphQLController(GraphQL graphQL, GraphQLServletExecutor executor) {
         super(graphQL, executor);
     }
+
+    public DefaultGraphQLController(GraphQL graphQL, GraphQLServletExecutor executor, GraphQLSchema schema,
+                                    IntrospectionCache introspectionCache) {
+        super(graphQL, executor, schema, introspectionCache);
+    }
+
+    public DefaultGraphQLController(GraphQL graphQL, GraphQLServletExecutor executor, GraphQLSchema schema,
+                                    IntrospectionCache introspectionCache, DocumentCache documentCache) {
+        super(graphQL, executor, schema, introspectionCache, documentCache);
+    }
 }
@@ -1,25 +1,54 @@
 package io.leangen.graphql.spqr.spring.web.servlet;
 
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
 import graphql.GraphQL;
+import io.leangen.graphql.spqr.spring.autoconfigure.CachePolicy;
 import io.leangen.graphql.spqr.spring.autoconfigure.DataLoaderRegistryFactory;
 import io.leangen.graphql.spqr.spring.autoconfigure.ServletContextFactory;
+import io.leangen.graphql.spqr.spring.web.RequestDeadline;
 import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.web.context.request.NativeWebRequest;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import java.util.Map;
 
 public class DefaultGraphQLExecutor implements GraphQLServletExecutor {
 
     private final ServletContextFactory contextFactory;
     private final DataLoaderRegistryFactory dataLoaderRegistryFactory;
+    private final RequestDeadline deadline;
 
     public DefaultGraphQLExecutor(ServletContextFactory contextFactory, DataLoaderRegistryFactory dataLoaderRegistryFactory) {
+        this(contextFactory, dataLoaderRegistryFactory, null);
+    }
+
+    public DefaultGraphQLExecutor(ServletContextFactory contextFactory, DataLoaderRegistryFactory dataLoaderRegistryFactory,
+                                  RequestDeadline deadline) {
         this.contextFactory = contextFactory;
         this.dataLoaderRegistryFactory = dataLoaderRegistryFactory;
+        this.deadline = deadline;
     }
 
     @Override
     public Map<String, Object> execute(GraphQL graphQL, GraphQLRequest graphQLRequest, NativeWebRequest nativeRequest) {
-        return graphQL.execute(buildInput(graphQLRequest, nativeRequest, contextFactory, dataLoaderRegistryFactory)).toSpecification();
+        ExecutionInput input = buildInput(graphQLRequest, nativeRequest, contextFactory, dataLoaderRegistryFactory);
+        if (deadline != null) {
+            deadline.apply(input.getContext(), deadline.getHeader() == null ? null : nativeRequest.getHeader(deadline.getHeader()));
+        }
+        ExecutionResult result = graphQL.execute(input);
+        //Only GET responses are cacheable by HTTP caches
+        HttpServletRequest servletRequest = nativeRequest.getNativeRequest(HttpServletRequest.class);
+        HttpServletResponse servletResponse = nativeRequest.getNativeResponse(HttpServletResponse.class);
+        if (servletRequest != null && servletResponse != null && HttpMethod.GET.matches(servletRequest.getMethod())) {
+            String cacheControl = CachePolicy.headerValue(input.getContext(), result);
+            if (cacheControl != null) {
+                servletResponse.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            }
+        }
+        return result.toSpecification();
     }
 }
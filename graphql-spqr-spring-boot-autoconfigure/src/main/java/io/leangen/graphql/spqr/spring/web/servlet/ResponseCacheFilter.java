@@ -0,0 +1,102 @@
+package io.leangen.graphql.spqr.spring.web.servlet;
+
+import io.leangen.graphql.spqr.spring.web.ResponseCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletResponseWrapper;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Serves GET requests to the GraphQL endpoint from a {@link ResponseCache}, and caches the responses that allow it.
+ * Cached payloads are handed to the container for zero-copy sending when it supports that (Tomcat's sendfile),
+ * and are otherwise written straight from their memory mapping.
+ */
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    //Survives into async dispatches, where the response may be a wrapper created by another filter
+    private static final String OWN_WRAPPER = ResponseCacheFilter.class.getName() + ".WRAPPER";
+
+    private final ResponseCache cache;
+
+    public ResponseCacheFilter(ResponseCache cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod());
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getQueryString() == null ? request.getRequestURI() : request.getRequestURI() + '?' + request.getQueryString();
+        HttpServletResponse responseToUse = response;
+        if (!isAsyncDispatch(request)) {
+            try (ResponseCache.Entry entry = cache.get(key)) {
+                if (entry != null) {
+                    send(entry, request, response);
+                    return;
+                }
+            }
+            //An outer filter (e.g. the ETag one) may already buffer the body, and is then the one to release it
+            if (WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class) == null) {
+                responseToUse = new ContentCachingResponseWrapper(response);
+                request.setAttribute(OWN_WRAPPER, responseToUse);
+            }
+        }
+        try {
+            filterChain.doFilter(request, responseToUse);
+        } finally {
+            ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(responseToUse, ContentCachingResponseWrapper.class);
+            if (!isAsyncStarted(request) && wrapper != null) {
+                if (wrapper.getStatus() == HttpServletResponse.SC_OK) {
+                    cache.put(key, wrapper.getContentAsByteArray(), wrapper.getContentType(), wrapper.getHeader(HttpHeaders.CACHE_CONTROL));
+                }
+                if (wrapper == request.getAttribute(OWN_WRAPPER)) {
+                    wrapper.copyBodyToResponse();
+                }
+            }
+        }
+    }
+
+    private static void send(ResponseCache.Entry entry, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(entry.getContentType());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, entry.getCacheControl());
+        response.setHeader(HttpHeaders.AGE, Long.toString(entry.getAgeSeconds()));
+        response.setContentLengthLong(entry.getLength());
+        //A wrapped response may need to see the body, so only the container's own can skip it
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT)) && !(response instanceof ServletResponseWrapper)) {
+            request.setAttribute(SENDFILE_FILENAME, entry.getFile().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, entry.getLength());
+            return;
+        }
+        WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+        ByteBuffer content = entry.getContent();
+        while (content.hasRemaining()) {
+            out.write(content);
+        }
+    }
+}
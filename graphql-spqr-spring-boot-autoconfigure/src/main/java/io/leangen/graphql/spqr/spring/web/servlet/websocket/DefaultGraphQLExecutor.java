@@ -1,9 +1,12 @@
 package io.leangen.graphql.spqr.spring.web.servlet.websocket;
 
+import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
 import io.leangen.graphql.spqr.spring.autoconfigure.DataLoaderRegistryFactory;
+import io.leangen.graphql.spqr.spring.autoconfigure.DefaultGlobalContext;
 import io.leangen.graphql.spqr.spring.autoconfigure.WebSocketContextFactory;
+import io.leangen.graphql.spqr.spring.util.ConcurrentMultiMap;
 import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
 import org.springframework.web.socket.WebSocketSession;
 
@@ -11,6 +14,7 @@ public class DefaultGraphQLExecutor implements GraphQLWebSocketExecutor {
 
     private final WebSocketContextFactory contextFactory;
     private final DataLoaderRegistryFactory dataLoaderRegistryFactory;
+    private final ConcurrentMultiMap<String, DefaultGlobalContext<?>> inFlight = new ConcurrentMultiMap<>();
 
     public DefaultGraphQLExecutor(WebSocketContextFactory contextFactory, DataLoaderRegistryFactory dataLoaderRegistryFactory) {
         this.contextFactory = contextFactory;
@@ -19,6 +23,21 @@ public class DefaultGraphQLExecutor implements GraphQLWebSocketExecutor {
 
     @Override
     public ExecutionResult execute(GraphQL graphQL, GraphQLRequest graphQLRequest, WebSocketSession request) {
-        return graphQL.execute(buildInput(graphQLRequest, request, contextFactory, dataLoaderRegistryFactory));
+        ExecutionInput input = buildInput(graphQLRequest, request, contextFactory, dataLoaderRegistryFactory);
+        if (!(input.getContext() instanceof DefaultGlobalContext)) {
+            return graphQL.execute(input);
+        }
+        DefaultGlobalContext<?> context = (DefaultGlobalContext<?>) input.getContext();
+        inFlight.add(request.getId(), context);
+        try {
+            return graphQL.execute(input);
+        } finally {
+            inFlight.remove(request.getId(), context);
+        }
+    }
+
+    @Override
+    public void cancel(WebSocketSession session) {
+        inFlight.get(session.getId()).forEach(context -> context.cancel());
     }
 }
@@ -11,4 +11,11 @@ public interface GraphQLWebSocketExecutor extends GraphQLExecutor<WebSocketSessi
 
     @Override
     ExecutionResult execute(GraphQL graphQL, GraphQLRequest graphQLRequest, WebSocketSession request);
+
+    /**
+     * Invoked when the session is closed, to abort any operations still executing on its behalf
+     *
+     * @param session the closed session
+     */
+    default void cancel(WebSocketSession session) {/*no-op*/}
 }
@@ -0,0 +1,96 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import io.leangen.graphql.GraphQLSchemaGenerator;
+import io.leangen.graphql.annotations.GraphQLMutation;
+import io.leangen.graphql.annotations.GraphQLQuery;
+import io.leangen.graphql.execution.ResolverInterceptor;
+import io.leangen.graphql.spqr.spring.annotations.GraphQLCacheControl;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CacheControlInterceptorFactoryTest {
+
+    private final CacheControlInterceptorFactory interceptorFactory = new CacheControlInterceptorFactory();
+    private final Set<String> intercepted = ConcurrentHashMap.newKeySet();
+    private final GraphQL graphQL = GraphQL.newGraphQL(new GraphQLSchemaGenerator()
+            .withOperationsFromSingleton(new Operations())
+            .withResolverInterceptorFactories((config, factories) -> factories.append(params -> {
+                List<ResolverInterceptor> interceptors = interceptorFactory.getInterceptors(params);
+                if (!interceptors.isEmpty()) {
+                    intercepted.add(params.getResolver().getOperationName());
+                }
+                return interceptors;
+            }))
+            .generate())
+            .build();
+
+    @Test
+    public void onlyHintedAndRootFieldsAreIntercepted() {
+        assertEquals(new HashSet<>(Arrays.asList("book", "unhinted", "delete", "price")), intercepted);
+    }
+
+    @Test
+    public void hintsOfRootAndNestedFieldsAreMerged() {
+        CachePolicy policy = execute("{book {title price}}");
+
+        assertTrue(policy.isCacheable());
+        assertEquals(10, policy.getMaxAge());
+        assertFalse(policy.isPrivate());
+    }
+
+    @Test
+    public void rootFieldsWithoutHintAreUncacheable() {
+        assertFalse(execute("{book {title} unhinted}").isCacheable());
+        assertFalse(execute("mutation {delete}").isCacheable());
+    }
+
+    private CachePolicy execute(String query) {
+        DefaultGlobalContext<?> context = new DefaultGlobalContext<>(null);
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput().query(query).context(context));
+        assertTrue(result.getErrors().isEmpty());
+        return context.getCachePolicy();
+    }
+
+    public static class Operations {
+
+        @GraphQLQuery
+        @GraphQLCacheControl(maxAge = 60)
+        public Book book() {
+            return new Book();
+        }
+
+        @GraphQLQuery
+        public String unhinted() {
+            return "unhinted";
+        }
+
+        @GraphQLMutation
+        public boolean delete() {
+            return true;
+        }
+    }
+
+    public static class Book {
+
+        public String getTitle() {
+            return "Dune";
+        }
+
+        @GraphQLCacheControl(maxAge = 10)
+        public int getPrice() {
+            return 10;
+        }
+    }
+}
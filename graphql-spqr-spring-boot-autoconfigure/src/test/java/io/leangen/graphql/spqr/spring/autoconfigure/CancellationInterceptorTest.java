@@ -0,0 +1,77 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import io.leangen.graphql.GraphQLSchemaGenerator;
+import io.leangen.graphql.annotations.GraphQLMutation;
+import io.leangen.graphql.annotations.GraphQLQuery;
+import io.leangen.graphql.spqr.spring.util.GlobalResolverInterceptorFactory;
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+import io.leangen.graphql.spqr.spring.web.servlet.websocket.DefaultGraphQLExecutor;
+import org.junit.Test;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CancellationInterceptorTest {
+
+    private final WebSocketSession session = mock(WebSocketSession.class);
+    private final DefaultGraphQLExecutor executor = new DefaultGraphQLExecutor(
+            params -> new DefaultGlobalContext<>(params.getNativeRequest()), null);
+    private final GraphQL graphQL = GraphQL.newGraphQL(new GraphQLSchemaGenerator()
+            .withOperationsFromSingleton(new Operations())
+            .withResolverInterceptorFactories((config, factories) -> factories.append(
+                    new GlobalResolverInterceptorFactory(Collections.singletonList(new CancellationInterceptor()))))
+            .generate())
+            .build();
+
+    @Test
+    public void cancelledSessionAbortsRemainingFields() {
+        when(session.getId()).thenReturn("session");
+
+        //Mutation fields are resolved serially, so the second one runs after the session got cancelled
+        ExecutionResult result = executor.execute(graphQL, new GraphQLRequest("mutation {cancelSession resolved}", null, null), session);
+
+        Map<String, Object> data = result.getData();
+        assertEquals(true, data.get("cancelSession"));
+        assertNull(data.get("resolved"));
+        assertEquals(1, result.getErrors().size());
+        assertTrue(result.getErrors().get(0).getMessage().contains("Operation cancelled"));
+    }
+
+    @Test
+    public void uncancelledOperationsResolveNormally() {
+        when(session.getId()).thenReturn("session");
+
+        ExecutionResult result = executor.execute(graphQL, new GraphQLRequest("mutation {resolved}", null, null), session);
+
+        assertTrue(result.getErrors().isEmpty());
+        assertEquals(Collections.singletonMap("resolved", true), result.getData());
+    }
+
+    public class Operations {
+
+        @GraphQLQuery
+        public String ping() {
+            return "pong";
+        }
+
+        @GraphQLMutation
+        public Boolean cancelSession() {
+            executor.cancel(session);
+            return true;
+        }
+
+        @GraphQLMutation
+        public Boolean resolved() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class DefaultGlobalContextTest {
+
+    @Test
+    public void entitiesAreLoadedOncePerOperation() {
+        EntityCacheStats stats = new EntityCacheStats();
+        DefaultGlobalContext<?> context = new DefaultGlobalContext<>(null, stats);
+        AtomicInteger loads = new AtomicInteger();
+
+        Object first = context.getEntity(Object.class, 1L, () -> new Object[] {loads.incrementAndGet()});
+        Object second = context.getEntity(Object.class, 1L, () -> new Object[] {loads.incrementAndGet()});
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    public void contextsWithoutStatsCountNothing() {
+        EntityCacheStats counted = new EntityCacheStats();
+        new DefaultGlobalContext<>(null, counted).getEntity(Object.class, 1L, Object::new);
+        assertEquals(1, counted.getMisses());
+
+        DefaultGlobalContext<?> uncounted = new DefaultGlobalContext<>(null);
+        uncounted.getEntity(Object.class, 1L, Object::new);
+        uncounted.getEntity(Object.class, 1L, Object::new);
+
+        assertEquals(0, counted.getHits());
+        assertEquals(1, counted.getMisses());
+    }
+
+    @Test
+    public void missingEntitiesAreNotRemembered() {
+        EntityCacheStats stats = new EntityCacheStats();
+        DefaultGlobalContext<?> context = new DefaultGlobalContext<>(null, stats);
+
+        assertNull(context.getEntity(Object.class, 1L, () -> null));
+        assertNull(context.getEntity(Object.class, 1L, () -> null));
+
+        assertEquals(0, stats.getHits());
+        assertEquals(2, stats.getMisses());
+    }
+
+    @Test
+    public void valuesAreStoredUnderTypedKeys() {
+        ContextKey<String> first = ContextKey.of("first", String.class);
+        ContextKey<Integer> second = ContextKey.of("second", Integer.class);
+        DefaultGlobalContext<?> context = new DefaultGlobalContext<>(null);
+
+        assertNull(context.get(first));
+        assertNull(context.put(second, 1));
+        assertNull(context.get(first));
+        assertNull(context.put(first, "a"));
+        assertEquals("a", context.put(first, "b"));
+
+        assertEquals("b", context.get(first));
+        assertEquals(Integer.valueOf(1), context.get(second));
+    }
+
+    @Test
+    public void keysCreatedAfterAWriteAreStillUsable() {
+        ContextKey<String> early = ContextKey.of("early", String.class);
+        DefaultGlobalContext<?> context = new DefaultGlobalContext<>(null);
+        context.put(early, "a");
+
+        ContextKey<String> late = ContextKey.of("late", String.class);
+        assertNull(context.get(late));
+        context.put(late, "b");
+
+        assertEquals("a", context.get(early));
+        assertEquals("b", context.get(late));
+    }
+
+    @Test
+    public void valuesAreComputedOnce() {
+        ContextKey<Object> key = ContextKey.of("computed", Object.class);
+        DefaultGlobalContext<?> context = new DefaultGlobalContext<>(null);
+        AtomicInteger computations = new AtomicInteger();
+
+        assertNull(context.computeIfAbsent(key, () -> null));
+        Object value = context.computeIfAbsent(key, () -> computations.incrementAndGet());
+
+        assertSame(value, context.computeIfAbsent(key, () -> computations.incrementAndGet()));
+        assertSame(value, context.get(key));
+        assertEquals(1, computations.get());
+    }
+
+    @Test
+    public void concurrentComputationsYieldTheSameValue() throws Exception {
+        ContextKey<Object> key = ContextKey.of("shared", Object.class);
+        DefaultGlobalContext<?> context = new DefaultGlobalContext<>(null);
+        AtomicInteger computations = new AtomicInteger();
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit((Callable<Object>) () -> {
+                    start.await();
+                    return context.computeIfAbsent(key, () -> {
+                        computations.incrementAndGet();
+                        return new Object();
+                    });
+                }));
+            }
+            start.countDown();
+            Object value = results.get(0).get();
+            for (Future<Object> result : results) {
+                assertSame(value, result.get());
+            }
+            assertEquals(1, computations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import graphql.ExecutionInput;
+import graphql.InvalidSyntaxError;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.language.SourceLocation;
+import graphql.parser.Parser;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DocumentCacheTest {
+
+    private final AtomicInteger parses = new AtomicInteger();
+
+    @Test
+    public void repeatedQueriesAreParsedOnce() {
+        DocumentCache cache = new DocumentCache(10);
+
+        PreparsedDocumentEntry first = get(cache, "{a}");
+        PreparsedDocumentEntry second = get(cache, new String("{a}"));
+
+        assertSame(first, second);
+        assertEquals(1, parses.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    public void invalidDocumentsAreNotCached() {
+        DocumentCache cache = new DocumentCache(10);
+        InvalidSyntaxError error = new InvalidSyntaxError(new SourceLocation(1, 1), "Invalid syntax");
+
+        cache.getDocument(input("{b"), input -> new PreparsedDocumentEntry(error));
+
+        assertEquals(0, cache.size());
+        assertNull(cache.getParsedDocument("{b"));
+    }
+
+    @Test
+    public void cachedInstancesAreShared() {
+        DocumentCache cache = new DocumentCache(10);
+        String query = "{a}";
+        get(cache, query);
+
+        assertSame(query, cache.intern(new String(query)));
+        String unknown = "{b}";
+        assertSame(unknown, cache.intern(unknown));
+        assertNull(cache.intern(null));
+    }
+
+    @Test
+    public void parsedDocumentsAreExposedWithoutCountingAsUse() {
+        DocumentCache cache = new DocumentCache(10);
+        get(cache, "{a}");
+
+        assertNotNull(cache.getParsedDocument("{a}"));
+        assertNull(cache.getParsedDocument("{b}"));
+        assertEquals(0, cache.getHits());
+    }
+
+    @Test
+    public void leastRecentlyUsedQueriesAreEvicted() {
+        DocumentCache cache = new DocumentCache(16);
+        for (int i = 0; i < 16; i++) {
+            get(cache, "{a" + i + "}");
+        }
+        get(cache, "{a0}");
+
+        get(cache, "{b}");
+
+        assertTrue(cache.size() <= 16);
+        assertNotNull(cache.getParsedDocument("{a0}"));
+        assertNotNull(cache.getParsedDocument("{b}"));
+        assertNull(cache.getParsedDocument("{a1}"));
+    }
+
+    private PreparsedDocumentEntry get(DocumentCache cache, String query) {
+        return cache.getDocument(input(query), input -> {
+            parses.incrementAndGet();
+            return new PreparsedDocumentEntry(new Parser().parseDocument(input.getQuery()));
+        });
+    }
+
+    private static ExecutionInput input(String query) {
+        return ExecutionInput.newExecutionInput().query(query).build();
+    }
+}
@@ -0,0 +1,72 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import io.leangen.graphql.GraphQLSchemaGenerator;
+import io.leangen.graphql.annotations.GraphQLArgument;
+import io.leangen.graphql.annotations.GraphQLQuery;
+import io.leangen.graphql.spqr.spring.annotations.GraphQLCached;
+import org.junit.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class FieldCacheInterceptorFactoryTest {
+
+    private final Operations operations = new Operations();
+    private final FieldCacheInterceptorFactory interceptorFactory = new FieldCacheInterceptorFactory(new ConcurrentMapCacheManager());
+    private final GraphQL graphQL = GraphQL.newGraphQL(new GraphQLSchemaGenerator()
+            .withOperationsFromSingleton(operations)
+            .withResolverInterceptorFactories((config, factories) -> factories.append(interceptorFactory))
+            .generate())
+            .build();
+
+    @Test
+    public void resolversSharingCacheDoNotMixResults() {
+        Map<String, Object> expected = new HashMap<>();
+        expected.put("title", "Title 1");
+        expected.put("author", "Author 1");
+
+        for (int i = 0; i < 2; i++) {
+            ExecutionResult result = graphQL.execute("{title(id: 1) author(id: 1)}");
+            assertTrue(result.getErrors().isEmpty());
+            assertEquals(expected, result.getData());
+        }
+        assertEquals(1, operations.titleLoads);
+        assertEquals(1, operations.authorLoads);
+    }
+
+    @Test
+    public void statisticsAreKeyedByQualifiedName() {
+        graphQL.execute("{title(id: 1)}");
+        graphQL.execute("{title(id: 1)}");
+
+        FieldCacheInterceptorFactory.Statistics statistics = interceptorFactory.getStatistics().get(Operations.class.getName() + ".title");
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+    }
+
+    public static class Operations {
+
+        private int titleLoads;
+        private int authorLoads;
+
+        @GraphQLQuery
+        @GraphQLCached("books")
+        public String title(@GraphQLArgument(name = "id") Long id) {
+            titleLoads++;
+            return "Title " + id;
+        }
+
+        @GraphQLQuery
+        @GraphQLCached("books")
+        public String author(@GraphQLArgument(name = "id") Long id) {
+            authorLoads++;
+            return "Author " + id;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.leangen.graphql.spqr.spring.autoconfigure;
+
+import io.leangen.geantyref.GenericTypeReflector;
+import io.leangen.graphql.generator.mapping.ArgumentInjectorParams;
+import io.leangen.graphql.spqr.spring.web.FileUploads;
+import org.junit.Test;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FileUploadHandlerTest {
+
+    private final FileUploadHandler handler = new FileUploadHandler();
+
+    @Test
+    public void multipartFilesAreWrapped() {
+        MultipartFile first = new MockMultipartFile("first", new byte[] {1});
+        MultipartFile second = new MockMultipartFile("second", new byte[] {2});
+
+        FileUploads uploads = (FileUploads) handler.getArgumentValue(params(Arrays.asList(first, second)));
+
+        assertEquals(Arrays.asList(first, second), uploads.stream().collect(Collectors.toList()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void filePartsAreRejected() {
+        handler.getArgumentValue(params(Collections.singletonList(mock(FilePart.class))));
+    }
+
+    private static ArgumentInjectorParams params(Object input) {
+        ArgumentInjectorParams params = mock(ArgumentInjectorParams.class);
+        when(params.getInput()).thenReturn(input);
+        when(params.getType()).thenReturn(GenericTypeReflector.annotate(FileUploads.class));
+        return params;
+    }
+}
@@ -0,0 +1,133 @@
+package io.leangen.graphql.spqr.spring.events;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EventBusTest {
+
+    private static final String LOOPBACK = InetAddress.getLoopbackAddress().getHostAddress();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void localEventsAreFilteredByTopicAndType() {
+        LocalEventBus bus = new LocalEventBus();
+        List<String> received = new ArrayList<>();
+        Disposable subscription = Flux.from(bus.subscribe("greetings", String.class)).subscribe(received::add);
+
+        bus.publish("greetings", "hello");
+        bus.publish("greetings", 42);
+        bus.publish("farewells", "bye");
+        subscription.dispose();
+        bus.publish("greetings", "too late");
+
+        assertEquals(Collections.singletonList("hello"), received);
+    }
+
+    @Test
+    public void eventsReachOtherNodesThroughLoopbackBroker() {
+        LoopbackEventBroker broker = new LoopbackEventBroker();
+        DistributedEventBus publisher = new DistributedEventBus(broker.connect(), objectMapper);
+        DistributedEventBus subscriber = new DistributedEventBus(broker.connect(), objectMapper);
+        List<Object> local = new ArrayList<>();
+        List<Object> remote = new ArrayList<>();
+        Flux.from(publisher.subscribe("ticks", Map.class)).subscribe(local::add);
+        Flux.from(subscriber.subscribe("ticks", Map.class)).subscribe(remote::add);
+        Flux.from(subscriber.subscribe("ticks", Map.class)).subscribe(remote::add);
+
+        publisher.publish("ticks", Collections.singletonMap("price", 10));
+
+        assertEquals(1, local.size());
+        assertEquals(Arrays.asList(local.get(0), local.get(0)), remote);
+    }
+
+    @Test
+    public void eventsReachOtherNodesThroughTcpBroker() throws Exception {
+        try (TcpEventBroker broker = new TcpEventBroker(0);
+             DistributedEventBus publisher = new DistributedEventBus(new TcpEventTransport(LOOPBACK, broker.getPort()), objectMapper);
+             DistributedEventBus subscriber = new DistributedEventBus(new TcpEventTransport(LOOPBACK, broker.getPort()), objectMapper)) {
+
+            CompletableFuture<String> received = Flux.from(subscriber.subscribe("greetings", String.class)).next().toFuture();
+            //The broker accepts connections asynchronously, so keep publishing until the subscriber is reachable
+            Flux.interval(Duration.ofMillis(50))
+                    .takeUntil(i -> received.isDone())
+                    .subscribe(i -> publisher.publish("greetings", "hello"));
+
+            assertEquals("hello", received.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void publishingWithoutBrokerStillDeliversLocally() throws Exception {
+        int port;
+        try (ServerSocket unused = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = unused.getLocalPort();
+        }
+        try (DistributedEventBus bus = new DistributedEventBus(new TcpEventTransport(LOOPBACK, port), objectMapper)) {
+            List<String> received = new ArrayList<>();
+            Flux.from(bus.subscribe("greetings", String.class)).subscribe(received::add);
+
+            bus.publish("greetings", "hello");
+
+            assertEquals(Collections.singletonList("hello"), received);
+        }
+    }
+
+    @Test
+    public void transportReconnectsToRestartedBroker() throws Exception {
+        TcpEventBroker broker = new TcpEventBroker(0);
+        int port = broker.getPort();
+        TcpEventTransport publisherTransport = new TcpEventTransport(LOOPBACK, port);
+        TcpEventTransport subscriberTransport = new TcpEventTransport(LOOPBACK, port);
+        try (DistributedEventBus publisher = new DistributedEventBus(publisherTransport, objectMapper);
+             DistributedEventBus subscriber = new DistributedEventBus(subscriberTransport, objectMapper)) {
+            awaitConnected(publisherTransport, subscriberTransport);
+
+            broker.close();
+            awaitDisconnected(publisherTransport, subscriberTransport);
+            broker = new TcpEventBroker(port);
+
+            CompletableFuture<String> received = Flux.from(subscriber.subscribe("greetings", String.class)).next().toFuture();
+            Flux.interval(Duration.ofMillis(50))
+                    .takeUntil(i -> received.isDone())
+                    .subscribe(i -> publisher.publish("greetings", "hello again"));
+
+            assertEquals("hello again", received.get(10, TimeUnit.SECONDS));
+        } finally {
+            broker.close();
+        }
+    }
+
+    private static void awaitConnected(TcpEventTransport... transports) throws InterruptedException {
+        await(() -> Arrays.stream(transports).allMatch(TcpEventTransport::isConnected));
+    }
+
+    private static void awaitDisconnected(TcpEventTransport... transports) throws InterruptedException {
+        await(() -> Arrays.stream(transports).noneMatch(TcpEventTransport::isConnected));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            assertTrue("Timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import io.leangen.geantyref.GenericTypeReflector;
+import org.junit.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class KeysetCursorTest {
+
+    private static final Sort SORT = Sort.by(Sort.Order.desc("published"), Sort.Order.asc("title"), Sort.Order.asc("id"));
+
+    @Test
+    public void roundTrip() {
+        Map<String, Object> row = new HashMap<>();
+        row.put("published", LocalDate.of(2019, 12, 24));
+        row.put("title", "Odd & unusual = title");
+        row.put("id", 42L);
+
+        String cursor = KeysetCursor.encode(SORT, row::get);
+
+        assertEquals(Arrays.asList(LocalDate.of(2019, 12, 24), "Odd & unusual = title", 42L), KeysetCursor.decode(cursor, SORT));
+    }
+
+    @Test
+    public void seekPredicate() {
+        Keyset keyset = new Keyset(10, SORT, Arrays.asList(LocalDate.of(2019, 12, 24), "Title", 42L));
+        List<List<Keyset.Condition>> predicate = keyset.getSeekPredicate();
+
+        assertEquals(3, predicate.size());
+        assertEquals(Keyset.Operator.LESS_THAN, predicate.get(0).get(0).getOperator());
+        assertEquals(Keyset.Operator.EQUAL, predicate.get(2).get(1).getOperator());
+        assertEquals("id", predicate.get(2).get(2).getProperty());
+        assertEquals(Keyset.Operator.GREATER_THAN, predicate.get(2).get(2).getOperator());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cursorForDifferentSortIsRejected() {
+        String cursor = KeysetCursor.encode(Sort.by("id"), property -> 1L);
+        KeysetCursor.decode(cursor, SORT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyCursorIsRejected() {
+        KeysetCursor.decode("", SORT);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unsortedKeysetIsRejected() {
+        Keyset.first(10, Sort.unsorted());
+    }
+
+    @Test
+    public void omittedArgumentsAreDefaulted() {
+        Keyset keyset = new KeysetAdapter(new PageableAdapter(25, 0, PageSizePolicy.CLAMP))
+                .convertInput(new KeysetPagination(), GenericTypeReflector.annotate(Keyset.class), null, null);
+
+        assertEquals(25, keyset.getSize());
+        assertEquals(Keyset.DEFAULT_SORT, keyset.getSort());
+        assertTrue(keyset.isFirstPage());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyAfterArgumentIsRejected() {
+        KeysetPagination pagination = new KeysetPagination();
+        pagination.after = "";
+        new KeysetAdapter().convertInput(pagination, GenericTypeReflector.annotate(Keyset.class), null, null);
+    }
+}
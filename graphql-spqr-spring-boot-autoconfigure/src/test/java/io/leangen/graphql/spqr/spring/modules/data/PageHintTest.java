@@ -0,0 +1,41 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+import org.junit.Test;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PageHintTest {
+
+    @Test
+    public void sliceFieldsDoNotRequireCount() {
+        assertFalse(PageHint.of(selectionOf("content", "content/title", "hasNext", "last", "nextPageable")).isCountRequired());
+    }
+
+    @Test
+    public void totalsRequireCount() {
+        assertTrue(PageHint.of(selectionOf("content", "totalElements")).isCountRequired());
+        assertTrue(PageHint.of(selectionOf("totalPages")).isCountRequired());
+    }
+
+    @Test
+    public void nestedTotalsRequireCount() {
+        assertTrue(PageHint.of(selectionOf("edges", "pageInfo", "pageInfo/totalCount")).isCountRequired());
+    }
+
+    //Matches globs against the qualified field names the way graphql-java's selection set does
+    private static DataFetchingFieldSelectionSet selectionOf(String... qualifiedNames) {
+        DataFetchingFieldSelectionSet selectionSet = mock(DataFetchingFieldSelectionSet.class);
+        when(selectionSet.contains(anyString())).thenAnswer(invocation -> Arrays.stream(qualifiedNames)
+                .anyMatch(name -> FileSystems.getDefault().getPathMatcher("glob:" + invocation.getArgument(0)).matches(Paths.get(name))));
+        return selectionSet;
+    }
+}
@@ -0,0 +1,59 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import io.leangen.geantyref.GenericTypeReflector;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.AnnotatedType;
+
+import static org.junit.Assert.assertEquals;
+
+public class PageableAdapterTest {
+
+    private static final AnnotatedType PAGEABLE = GenericTypeReflector.annotate(Pageable.class);
+
+    @Test
+    public void oversizedPagesAreClamped() {
+        PageableAdapter adapter = new PageableAdapter(10, 50, PageSizePolicy.CLAMP);
+
+        assertEquals(20, adapter.limit(20, PAGEABLE));
+        assertEquals(50, adapter.limit(500, PAGEABLE));
+        assertEquals(1, adapter.getClampedCount());
+    }
+
+    @Test
+    public void oversizedPagesAreRejected() {
+        PageableAdapter adapter = new PageableAdapter(10, 50, PageSizePolicy.REJECT);
+
+        try {
+            adapter.limit(500, PAGEABLE);
+        } catch (IllegalArgumentException expected) {
+            assertEquals(1, adapter.getRejectedCount());
+            return;
+        }
+        throw new AssertionError("Oversized page was not rejected");
+    }
+
+    @Test
+    public void unlimitedWithoutMaximum() {
+        assertEquals(5000, new PageableAdapter(10, 0, PageSizePolicy.REJECT).limit(5000, PAGEABLE));
+    }
+
+    @Test
+    public void annotationOverridesMaximum() throws NoSuchMethodException {
+        AnnotatedType annotated = getClass().getDeclaredMethod("annotated", Pageable.class).getAnnotatedParameterTypes()[0];
+        PageableAdapter adapter = new PageableAdapter(10, 50, PageSizePolicy.CLAMP);
+
+        assertEquals(5, adapter.limit(20, annotated));
+        assertEquals(PageRequest.of(0, 3), adapter.getDefaultValue(annotated));
+    }
+
+    @Test
+    public void defaultSizeIsCappedByMaximum() {
+        assertEquals(PageRequest.of(0, 50), new PageableAdapter(100, 50, PageSizePolicy.CLAMP).getDefaultValue(PAGEABLE));
+    }
+
+    @SuppressWarnings("unused")
+    private void annotated(@PageSize(defaultSize = 3, maxSize = 5) Pageable pageable) {}
+}
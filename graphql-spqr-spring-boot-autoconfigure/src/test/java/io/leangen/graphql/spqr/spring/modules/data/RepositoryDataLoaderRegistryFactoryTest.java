@@ -0,0 +1,69 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import org.dataloader.DataLoader;
+import org.junit.Test;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.core.EntityInformation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class RepositoryDataLoaderRegistryFactoryTest {
+
+    private final Book first = new Book(1L);
+    private final Book second = new Book(2L);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void keysAreConvertedToIdType() {
+        CrudRepository<Object, Object> repository = mock(CrudRepository.class);
+        EntityInformation<Object, Object> entityInformation = mock(EntityInformation.class);
+        when(entityInformation.getIdType()).thenReturn((Class) Long.class);
+        when(entityInformation.getId(any())).thenAnswer(invocation -> ((Book) invocation.getArgument(0)).id);
+        //Like a real repository, only entities whose id equals one of the requested ones are found
+        when(repository.findAllById(any())).thenAnswer(invocation -> {
+            List<Object> found = new ArrayList<>();
+            for (Object id : (Iterable<Object>) invocation.getArgument(0)) {
+                for (Book book : Arrays.asList(first, second)) {
+                    if (book.id.equals(id)) {
+                        found.add(book);
+                    }
+                }
+            }
+            return found;
+        });
+        DataLoader<Object, Object> loader = new RepositoryDataLoaderRegistryFactory.RepositoryLoader("books", repository, entityInformation).create();
+
+        CompletableFuture<Object> byInteger = loader.load(1);
+        CompletableFuture<Object> byString = loader.load("2");
+        CompletableFuture<Object> missing = loader.load(3L);
+        loader.dispatch();
+
+        assertSame(first, byInteger.join());
+        assertSame(second, byString.join());
+        assertNull(missing.join());
+    }
+
+    @Test
+    public void loaderIsNamedAfterDomainType() {
+        assertEquals(Book.class.getName(), RepositoryDataLoaderRegistryFactory.loaderName(Book.class));
+    }
+
+    private static class Book {
+
+        private final Long id;
+
+        Book(Long id) {
+            this.id = id;
+        }
+    }
+}
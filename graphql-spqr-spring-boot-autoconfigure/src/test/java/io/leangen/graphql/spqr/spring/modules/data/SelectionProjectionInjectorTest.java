@@ -0,0 +1,127 @@
+package io.leangen.graphql.spqr.spring.modules.data;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SelectionProjectionInjectorTest {
+
+    private final SelectionProjectionInjector injector = new SelectionProjectionInjector();
+
+    @Test
+    public void narrowestCoveringProjectionIsSelected() throws NoSuchMethodException {
+        SelectionProjection projection = projection("books");
+
+        assertSame(TitleView.class, injector.select(projection, selectionOf("*", "title")));
+        assertSame(SummaryView.class, injector.select(projection, selectionOf("*", "title", "author")));
+        assertSame(Book.class, injector.select(projection, selectionOf("*", "title", "isbn")));
+    }
+
+    @Test
+    public void selectionIsReadFromPath() throws NoSuchMethodException {
+        SelectionProjection projection = projection("page");
+
+        assertSame(TitleView.class, injector.select(projection, selectionOf("content/*", "title", "__typename")));
+    }
+
+    @Test
+    public void interfaceProjectionIsAdapted() {
+        SummaryView view = (SummaryView) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {SummaryView.class},
+                (proxy, method, args) -> method.getName().equals("getTitle") ? "Dune" : "Herbert");
+
+        Book book = SelectionProjectionInjector.adapt(view, Book.class);
+
+        assertEquals("Dune", book.getTitle());
+        assertEquals("Herbert", book.getAuthor());
+        assertNull(book.getIsbn());
+    }
+
+    @Test
+    public void instancesOfTargetTypeAreReturnedAsIs() {
+        Book book = new Book();
+        assertSame(book, SelectionProjectionInjector.adapt(book, Book.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void incompatiblePropertiesAreRejected() {
+        SelectionProjectionInjector.adapt(new PricedView(), Book.class);
+    }
+
+    public void books(@SelectionProjection(value = {SummaryView.class, TitleView.class}, fallback = Book.class) Class<?> type) {}
+
+    public void page(@SelectionProjection(value = {SummaryView.class, TitleView.class}, fallback = Book.class, path = "content") Class<?> type) {}
+
+    private static SelectionProjection projection(String method) throws NoSuchMethodException {
+        return SelectionProjectionInjectorTest.class.getMethod(method, Class.class).getParameters()[0].getAnnotation(SelectionProjection.class);
+    }
+
+    private static DataFetchingFieldSelectionSet selectionOf(String glob, String... names) {
+        List<SelectedField> fields = Arrays.stream(names).map(name -> {
+            SelectedField field = mock(SelectedField.class);
+            when(field.getName()).thenReturn(name);
+            return field;
+        }).collect(Collectors.toList());
+        DataFetchingFieldSelectionSet selectionSet = mock(DataFetchingFieldSelectionSet.class);
+        when(selectionSet.getFields(glob)).thenReturn(fields);
+        return selectionSet;
+    }
+
+    public interface TitleView {
+        String getTitle();
+    }
+
+    public interface SummaryView extends TitleView {
+        String getAuthor();
+    }
+
+    public static class PricedView {
+        public String getTitle() {
+            return "Dune";
+        }
+
+        public int getPrice() {
+            return 10;
+        }
+    }
+
+    public static class Book {
+        private String title;
+        private String author;
+        private String isbn;
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public void setAuthor(String author) {
+            this.author = author;
+        }
+
+        public String getIsbn() {
+            return isbn;
+        }
+
+        public void setIsbn(String isbn) {
+            this.isbn = isbn;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package io.leangen.graphql.spqr.spring.modules.reactive;
+
+import graphql.language.Field;
+import graphql.schema.DataFetchingEnvironment;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import io.leangen.graphql.execution.ResolutionEnvironment;
+import org.junit.Test;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class FluxAdapterTest {
+
+    @Test
+    public void fluxesUnderTheCapAreCollected() {
+        assertEquals(Arrays.asList(1, 2, 3), resolve(new FluxAdapter<>(0, 5), Flux.range(1, 3)).join());
+    }
+
+    @Test
+    public void fluxesAtTheCapAreCollected() {
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), resolve(new FluxAdapter<>(0, 5), Flux.range(1, 5)).join());
+    }
+
+    @Test
+    public void fluxesOverTheCapFailAndAreCancelled() {
+        AtomicInteger emitted = new AtomicInteger();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Flux<Integer> endless = Flux.range(1, Integer.MAX_VALUE)
+                .doOnNext(i -> emitted.incrementAndGet())
+                .doOnCancel(() -> cancelled.set(true));
+
+        try {
+            resolve(new FluxAdapter<>(0, 5), endless).join();
+            fail("A flux over the cap was collected");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+            assertTrue(e.getCause().getMessage().contains("Field items produced more than the maximum of 5 elements"));
+        }
+        //One extra element tells the overflow apart from an exact fit
+        assertEquals(6, emitted.get());
+        assertTrue(cancelled.get());
+    }
+
+    @Test
+    public void elementsAreRequestedInChunks() {
+        List<Long> requests = new ArrayList<>();
+        Flux<Integer> source = Flux.range(1, 10).doOnRequest(requests::add);
+
+        assertEquals(10, resolve(new FluxAdapter<>(4, 0), source).join().size());
+        assertTrue(requests.size() > 1);
+        assertTrue(requests.stream().allMatch(request -> request <= 4));
+
+        requests.clear();
+        assertEquals(10, resolve(new FluxAdapter<>(0, 0), source).join().size());
+        assertEquals(Long.MAX_VALUE, (long) requests.get(0));
+    }
+
+    @Test
+    public void chunkedFluxesAreCapped() {
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5), resolve(new FluxAdapter<>(2, 5), Flux.range(1, 5)).join());
+        try {
+            resolve(new FluxAdapter<>(2, 5), Flux.range(1, 6)).join();
+            fail("A chunked flux over the cap was collected");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void scalarFluxesAreUnwrapped() {
+        FluxAdapter<Integer> adapter = new FluxAdapter<>(2, 5);
+        assertEquals(Collections.singletonList(1), adapter.convertOutput(Flux.just(1), null, queryEnvironment()));
+        assertEquals(Collections.emptyList(), adapter.convertOutput(Flux.empty(), null, queryEnvironment()));
+        assertTrue(adapter.convertOutput(Flux.just(1).hide(), null, queryEnvironment()) instanceof CompletableFuture);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<List<Integer>> resolve(FluxAdapter<Integer> adapter, Flux<Integer> flux) {
+        return (CompletableFuture<List<Integer>>) adapter.convertOutput(flux, null, queryEnvironment());
+    }
+
+    static ResolutionEnvironment queryEnvironment() {
+        GraphQLObjectType query = GraphQLObjectType.newObject().name("Query").build();
+        GraphQLSchema schema = mock(GraphQLSchema.class);
+        when(schema.getQueryType()).thenReturn(query);
+        DataFetchingEnvironment env = mock(DataFetchingEnvironment.class);
+        when(env.getParentType()).thenReturn(query);
+        when(env.getGraphQLSchema()).thenReturn(schema);
+        when(env.getField()).thenReturn(new Field("items"));
+        return new ResolutionEnvironment(null, env, null, null, null, null);
+    }
+}
@@ -0,0 +1,45 @@
+package io.leangen.graphql.spqr.spring.modules.reactive;
+
+import org.junit.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static io.leangen.graphql.spqr.spring.modules.reactive.FluxAdapterTest.queryEnvironment;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MonoAdapterTest {
+
+    private final MonoAdapter<String> adapter = new MonoAdapter<>();
+
+    @Test
+    public void scalarMonosAreUnwrapped() {
+        assertEquals("Hello", adapter.convertOutput(Mono.just("Hello"), null, queryEnvironment()));
+        assertNull(adapter.convertOutput(Mono.empty(), null, queryEnvironment()));
+    }
+
+    @Test
+    public void failedScalarMonosBecomeFailedFutures() {
+        IllegalStateException error = new IllegalStateException("Failed");
+        Object result = adapter.convertOutput(Mono.error(error), null, queryEnvironment());
+        assertTrue(result instanceof CompletableFuture);
+        try {
+            ((CompletableFuture<?>) result).join();
+            fail("The error was lost");
+        } catch (CompletionException e) {
+            assertSame(error, e.getCause());
+        }
+    }
+
+    @Test
+    public void otherMonosAreBridgedToFutures() {
+        Object result = adapter.convertOutput(Mono.just("Hello").hide(), null, queryEnvironment());
+        assertTrue(result instanceof CompletableFuture);
+        assertEquals("Hello", ((CompletableFuture<?>) result).join());
+    }
+}
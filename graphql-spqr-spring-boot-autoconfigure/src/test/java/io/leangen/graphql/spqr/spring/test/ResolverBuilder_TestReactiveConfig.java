@@ -1,6 +1,7 @@
 package io.leangen.graphql.spqr.spring.test;
 
 import io.leangen.graphql.annotations.GraphQLQuery;
+import io.leangen.graphql.annotations.GraphQLSubscription;
 import io.leangen.graphql.spqr.spring.annotations.GraphQLApi;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.stereotype.Component;
@@ -22,5 +23,10 @@ public class ResolverBuilder_TestReactiveConfig {
         public Flux<String> getGreetingFlux(){
             return Flux.fromArray(new String[]{"First Hello world !","Second Hello world !"});
         }
+
+        @GraphQLSubscription(name = "greetingFromSubscriberContextReactive_flux")
+        public Flux<String> getGreetingFromSubscriberContext(){
+            return Mono.subscriberContext().flatMapMany(ctx -> Flux.just(ctx.getOrDefault("greeting", "No context")));
+        }
     }
 }
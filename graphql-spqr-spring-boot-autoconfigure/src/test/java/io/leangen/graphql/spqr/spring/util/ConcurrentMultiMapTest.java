@@ -0,0 +1,67 @@
+package io.leangen.graphql.spqr.spring.util;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ConcurrentMultiMapTest {
+
+    @Test
+    public void addAndRemove() {
+        ConcurrentMultiMap<String, Integer> map = new ConcurrentMultiMap<>();
+        map.add("a", 1);
+        map.add("a", 2);
+
+        assertTrue(map.contains("a", 1));
+        assertEquals(2, map.get("a").size());
+
+        map.remove("a", 1);
+        map.remove("a", 2);
+        map.remove("b", 1);
+
+        assertFalse(map.contains("a", 1));
+        assertTrue(map.get("a").isEmpty());
+    }
+
+    @Test
+    public void concurrentWritersKeepAllValues() throws InterruptedException {
+        ConcurrentMultiMap<Integer, Integer> map = new ConcurrentMultiMap<>();
+        int threads = 8;
+        int values = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < values; i++) {
+                    //Every thread churns the shared key, and keeps one value of its own at the end
+                    map.add(i % 4, thread * values + i);
+                    if (i != values - 1) {
+                        map.remove(i % 4, thread * values + i);
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int key = (values - 1) % 4;
+        assertEquals(threads, map.get(key).size());
+        for (int t = 0; t < threads; t++) {
+            assertTrue(map.contains(key, t * values + values - 1));
+        }
+    }
+}
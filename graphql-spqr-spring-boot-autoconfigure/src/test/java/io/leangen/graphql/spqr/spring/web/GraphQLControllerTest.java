@@ -23,6 +23,7 @@ import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalToCompressingWhiteSpace;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @RunWith(SpringRunner.class)
@@ -58,6 +59,16 @@ public class GraphQLControllerTest {
                 .andExpect(content().string(containsString("Hello world")));
     }
 
+    @Test
+    public void defaultControllerTest_POST_applicationJson_extensionsAndUnknownFields() throws Exception {
+        mockMvc.perform(
+                post("/"+apiContext)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":\"1\",\"extensions\":{\"persistedQuery\":{\"version\":1}},\"query\":\"{greetingFromBeanSource_wiredAsComponent_byAnnotation}\"}"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Hello world")));
+    }
+
     @Test
     public void defaultControllerTest_POST_formUrlEncoded_noQueryParams() throws Exception {
         mockMvc.perform(
@@ -229,4 +240,54 @@ public class GraphQLControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().json("{\"data\":{\"uploadFiles\":[\"content1\",\"content2\"]}}", true));
     }
+
+    @Test
+    public void uploadFileWithoutVariables() throws Exception {
+        mockMvc.perform(
+                multipart("/" + apiContext)
+                        .file("1", "content1".getBytes())
+                        .file("2", "content2".getBytes())
+                        .param("operations", "{\n" +
+                                "  \"operationName\": \"Upload\",\n" +
+                                "  \"query\": \"query Upload($file1: FileUpload, $file2: FileUpload) {\\n  upload(file1: $file1, file2: $file2) }\\n\"\n" +
+                                "}")
+                        .param("map", "{  \"1\": [\"variables.file1\"],  \"2\": [\"variables.file2\"] }")
+
+        )
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"data\":{\"upload\":[\"content1\",\"content2\"]}}", true));
+    }
+
+    @Test
+    public void uploadFileToMissingPath() throws Exception {
+        mockMvc.perform(
+                multipart("/" + apiContext)
+                        .file("1", "content1".getBytes())
+                        .param("operations", "{\"query\": \"query Upload($file1: FileUpload) { upload(file1: $file1, file2: $file1) }\"}")
+                        .param("map", "{  \"1\": [\"variables.input.file1\"] }")
+
+        )
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void introspectionTest_POST_applicationJson() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(
+                    post("/"+apiContext)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"query\":\"{__schema{queryType{name}}}\",\"variables\":null,\"operationName\":null}"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("{\"data\":{\"__schema\":{\"queryType\":{\"name\":\"Query\"}}}}", true));
+        }
+    }
+
+    @Test
+    public void schemaDefinitionTest_GET() throws Exception {
+        mockMvc.perform(
+                get("/"+apiContext+"/schema.graphqls"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(content().string(containsString("greetingFromBeanSource_wiredAsComponent_byAnnotation")));
+    }
 }
@@ -0,0 +1,101 @@
+package io.leangen.graphql.spqr.spring.web;
+
+import io.leangen.graphql.spqr.spring.autoconfigure.BaseAutoConfiguration;
+import io.leangen.graphql.spqr.spring.autoconfigure.MvcAutoConfiguration;
+import io.leangen.graphql.spqr.spring.test.ResolverBuilder_TestConfig;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@RunWith(SpringRunner.class)
+@WebMvcTest
+@ContextConfiguration(classes = {BaseAutoConfiguration.class, MvcAutoConfiguration.class, ResolverBuilder_TestConfig.class})
+@TestPropertySource(locations = "classpath:application.properties", properties = "graphql.spqr.gui.enabled=true")
+public class GuiControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void gzipIsNegotiatedAcrossAllCodings() {
+        assertFalse(GuiController.acceptsGzip(null));
+        assertFalse(GuiController.acceptsGzip("identity"));
+        assertFalse(GuiController.acceptsGzip("br, deflate"));
+
+        assertTrue(GuiController.acceptsGzip("gzip"));
+        assertTrue(GuiController.acceptsGzip("deflate, GZIP;q=0.5"));
+        assertTrue(GuiController.acceptsGzip("gzip ; q=1.0"));
+        assertTrue(GuiController.acceptsGzip("*"));
+        assertTrue(GuiController.acceptsGzip("br;q=1, *;q=0.1"));
+
+        assertFalse(GuiController.acceptsGzip("gzip;q=0"));
+        assertFalse(GuiController.acceptsGzip("gzip;q=0.000"));
+        assertFalse(GuiController.acceptsGzip("*;q=0"));
+        assertFalse(GuiController.acceptsGzip("gzip;q=invalid"));
+        //An explicit refusal of gzip wins over the wildcard, whatever the order
+        assertFalse(GuiController.acceptsGzip("*, gzip;q=0"));
+        assertFalse(GuiController.acceptsGzip("gzip;q=0, *"));
+        //As does an explicit acceptance
+        assertTrue(GuiController.acceptsGzip("*;q=0, gzip"));
+    }
+
+    @Test
+    public void eachEncodingIsServedWithItsOwnEtag() throws Exception {
+        String plainEtag = mockMvc.perform(get("/gui"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(content().string(containsString("GraphQL Playground")))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        byte[] gzipped = mockMvc.perform(get("/gui").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+        String gzippedEtag = mockMvc.perform(get("/gui").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(plainEtag, gzippedEtag);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped))) {
+            assertTrue(StreamUtils.copyToString(in, StandardCharsets.UTF_8).contains("GraphQL Playground"));
+        }
+
+        mockMvc.perform(get("/gui").header(HttpHeaders.IF_NONE_MATCH, plainEtag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/gui").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, gzippedEtag))
+                .andExpect(status().isNotModified());
+        //A cached representation in one encoding doesn't validate the other
+        mockMvc.perform(get("/gui").header(HttpHeaders.IF_NONE_MATCH, gzippedEtag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/gui").header(HttpHeaders.ACCEPT_ENCODING, "gzip").header(HttpHeaders.IF_NONE_MATCH, plainEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void refusedGzipIsServedUncompressed() throws Exception {
+        mockMvc.perform(get("/gui").header(HttpHeaders.ACCEPT_ENCODING, "*, gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(containsString("GraphQL Playground")));
+    }
+}
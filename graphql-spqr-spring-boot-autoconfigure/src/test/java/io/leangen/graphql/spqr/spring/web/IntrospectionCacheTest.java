@@ -0,0 +1,78 @@
+package io.leangen.graphql.spqr.spring.web;
+
+import graphql.GraphQL;
+import graphql.schema.GraphQLSchema;
+import io.leangen.graphql.GraphQLSchemaGenerator;
+import io.leangen.graphql.annotations.GraphQLQuery;
+import io.leangen.graphql.spqr.spring.autoconfigure.DocumentCache;
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class IntrospectionCacheTest {
+
+    private static final GraphQLRequest INTROSPECTION = new GraphQLRequest("{__schema{queryType{name}}}", null, null);
+
+    private final DocumentCache documentCache = new DocumentCache(10);
+    private final GraphQLSchema schema = new GraphQLSchemaGenerator()
+            .withOperationsFromSingleton(new Operations())
+            .generate();
+    private final GraphQL graphQL = GraphQL.newGraphQL(schema)
+            .preparsedDocumentProvider(documentCache)
+            .build();
+
+    @Test
+    public void resultsAreOnlyCachedWhenEnabled() {
+        assertNull(new IntrospectionCache().execute(graphQL, schema, INTROSPECTION));
+    }
+
+    @Test
+    public void queriesAreCheckedAgainstCachedDocuments() {
+        IntrospectionCache introspectionCache = new IntrospectionCache(true, documentCache);
+
+        //Not executed before, so left to the regular execution
+        assertNull(introspectionCache.execute(graphQL, schema, INTROSPECTION));
+        graphQL.execute(INTROSPECTION.getQuery());
+
+        byte[] result = introspectionCache.execute(graphQL, schema, INTROSPECTION);
+        assertEquals("{\"data\":{\"__schema\":{\"queryType\":{\"name\":\"Query\"}}}}", new String(result, StandardCharsets.UTF_8));
+        assertSame(result, introspectionCache.execute(graphQL, schema, INTROSPECTION));
+        //Parsed once by the first regular execution, reused by all others
+        assertEquals(1, documentCache.getMisses());
+    }
+
+    @Test
+    public void mixedQueriesAreNotAnswered() {
+        IntrospectionCache introspectionCache = new IntrospectionCache(true, documentCache);
+        GraphQLRequest mixed = new GraphQLRequest("{greeting __schema{queryType{name}}}", null, null);
+        graphQL.execute(mixed.getQuery());
+
+        assertNull(introspectionCache.execute(graphQL, schema, mixed));
+    }
+
+    @Test
+    public void resultsWithErrorsAreReturnedButNotCached() {
+        IntrospectionCache introspectionCache = new IntrospectionCache(true, null);
+        GraphQLRequest invalid = new GraphQLRequest("{__type(name: \"Query\"){bogus}}", null, null);
+
+        byte[] first = introspectionCache.execute(graphQL, schema, invalid);
+        assertNotNull(first);
+        assertTrue(new String(first, StandardCharsets.UTF_8).contains("\"errors\""));
+        assertTrue(first != introspectionCache.execute(graphQL, schema, invalid));
+    }
+
+    public static class Operations {
+
+        @GraphQLQuery
+        public String greeting() {
+            return "Hello";
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.leangen.graphql.spqr.spring.web;
+
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MultipartRequestsTest {
+
+    private static final Map<String, String> FILES = new HashMap<>();
+
+    static {
+        FILES.put("1", "file1");
+        FILES.put("2", "file2");
+    }
+
+    @Test
+    public void filesAreBoundIntoOmittedVariables() {
+        GraphQLRequest request = new GraphQLRequest("{upload}", "Upload", null);
+
+        GraphQLRequest bound = bind(request, mapping("1", "variables.file"));
+
+        assertEquals(Collections.singletonMap("file", "file1"), bound.getVariables());
+        assertEquals("{upload}", bound.getQuery());
+        assertEquals("Upload", bound.getOperationName());
+        assertTrue(request.getVariables().isEmpty());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void filesAreBoundIntoNestedObjects() {
+        Map<String, Object> input = new LinkedHashMap<>();
+        input.put("name", "docs");
+        input.put("attachment", null);
+        Map<String, Object> variables = Collections.singletonMap("input", Collections.unmodifiableMap(input));
+
+        GraphQLRequest bound = bind(new GraphQLRequest("{upload}", null, variables), mapping("1", "variables.input.attachment"));
+
+        Map<String, Object> boundInput = (Map<String, Object>) bound.getVariables().get("input");
+        assertEquals("docs", boundInput.get("name"));
+        assertEquals("file1", boundInput.get("attachment"));
+        //The request's own variables stay untouched
+        assertEquals(null, input.get("attachment"));
+    }
+
+    @Test
+    public void listsGrowToFitTheFiles() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("files", Collections.singletonList(null));
+        Map<String, List<String>> mappings = new LinkedHashMap<>();
+        mappings.put("1", Collections.singletonList("variables.files.0"));
+        mappings.put("2", Collections.singletonList("variables.files.2"));
+
+        GraphQLRequest bound = bind(new GraphQLRequest("{upload}", null, variables), mappings);
+
+        assertEquals(Arrays.asList("file1", null, "file2"), bound.getVariables().get("files"));
+    }
+
+    @Test
+    public void oneFileMayBeBoundToManyPaths() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("files", new ArrayList<>());
+
+        GraphQLRequest bound = bind(new GraphQLRequest("{upload}", null, variables),
+                Collections.singletonMap("1", Arrays.asList("variables.first", "variables.files.0")));
+
+        assertEquals("file1", bound.getVariables().get("first"));
+        assertEquals(Collections.singletonList("file1"), bound.getVariables().get("files"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void pathsOutsideTheVariablesAreRejected() {
+        bind(new GraphQLRequest("{upload}", null, null), mapping("1", "query"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void missingPathsAreRejected() {
+        bind(new GraphQLRequest("{upload}", null, null), mapping("1", "variables.input.file"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonNumericListIndicesAreRejected() {
+        Map<String, Object> variables = Collections.singletonMap("files", new ArrayList<>());
+        bind(new GraphQLRequest("{upload}", null, variables), mapping("1", "variables.files.first"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void excessiveListIndicesAreRejected() {
+        Map<String, Object> variables = Collections.singletonMap("files", new ArrayList<>());
+        bind(new GraphQLRequest("{upload}", null, variables), mapping("1", "variables.files.100000"));
+    }
+
+    private static GraphQLRequest bind(GraphQLRequest request, Map<String, List<String>> mappings) {
+        return MultipartRequests.bindFiles(request, mappings, FILES::get);
+    }
+
+    private static Map<String, List<String>> mapping(String fileKey, String path) {
+        return Collections.singletonMap(fileKey, Collections.singletonList(path));
+    }
+}
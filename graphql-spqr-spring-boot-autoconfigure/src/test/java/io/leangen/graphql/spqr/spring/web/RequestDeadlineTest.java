@@ -0,0 +1,46 @@
+package io.leangen.graphql.spqr.spring.web;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class RequestDeadlineTest {
+
+    @Test
+    public void headerCanOnlyShortenDefaultWithoutMaximum() {
+        RequestDeadline deadline = new RequestDeadline(1000, 0, "X-Timeout");
+
+        assertEquals(1000, deadline.timeoutMillis(null));
+        assertEquals(200, deadline.timeoutMillis("200"));
+        assertEquals(1000, deadline.timeoutMillis("60000"));
+    }
+
+    @Test
+    public void headerIsCappedByMaximum() {
+        RequestDeadline deadline = new RequestDeadline(1000, 5000, "X-Timeout");
+
+        assertEquals(3000, deadline.timeoutMillis("3000"));
+        assertEquals(5000, deadline.timeoutMillis("60000"));
+    }
+
+    @Test
+    public void defaultIsCappedByMaximum() {
+        assertEquals(5000, new RequestDeadline(0, 5000, null).timeoutMillis(null));
+        assertEquals(5000, new RequestDeadline(10000, 5000, null).timeoutMillis(null));
+    }
+
+    @Test
+    public void headerAppliesWhenNothingIsConfigured() {
+        assertEquals(0, new RequestDeadline(0, 0, "X-Timeout").timeoutMillis(null));
+        assertEquals(300, new RequestDeadline(0, 0, "X-Timeout").timeoutMillis("300"));
+    }
+
+    @Test
+    public void invalidHeaderFallsBackToDefault() {
+        RequestDeadline deadline = new RequestDeadline(1000, 0, "X-Timeout");
+
+        assertEquals(1000, deadline.timeoutMillis("soon"));
+        assertEquals(1000, deadline.timeoutMillis("-5"));
+        assertEquals(1000, deadline.timeoutMillis("0"));
+    }
+}
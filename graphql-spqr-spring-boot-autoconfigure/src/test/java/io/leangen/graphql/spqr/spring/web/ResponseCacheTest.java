@@ -0,0 +1,107 @@
+package io.leangen.graphql.spqr.spring.web;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseCacheTest {
+
+    private static final String PUBLIC = "max-age=60, public";
+
+    private Path directory;
+    private ResponseCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("response-cache-test");
+        cache = new ResponseCache(directory, 10, Duration.ofMinutes(5));
+    }
+
+    @After
+    public void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    public void onlySharedResponsesAreCached() {
+        assertFalse(cache.put("private", bytes("{}"), "application/json", "max-age=60, private"));
+        assertFalse(cache.put("no-max-age", bytes("{}"), "application/json", "public"));
+        assertFalse(cache.put("none", bytes("{}"), "application/json", null));
+
+        assertTrue(cache.put("public", bytes("{}"), "application/json", PUBLIC));
+        try (ResponseCache.Entry entry = cache.get("public")) {
+            assertEquals("{}", content(entry));
+        }
+    }
+
+    @Test
+    public void leastRecentlyUsedAreEvicted() {
+        cache.put("first", bytes("1234"), "application/json", PUBLIC);
+        cache.put("second", bytes("1234"), "application/json", PUBLIC);
+        cache.get("second").close();
+        cache.put("third", bytes("1234"), "application/json", PUBLIC);
+
+        assertNull(cache.get("first"));
+        assertNotNull(cache.get("second"));
+        assertNotNull(cache.get("third"));
+        assertEquals(8, cache.getSize());
+    }
+
+    @Test
+    public void evictedEntriesStayUsableUntilClosed() {
+        cache.put("first", bytes("1234"), "application/json", PUBLIC);
+        ResponseCache.Entry inUse = cache.get("first");
+        cache.put("second", bytes("5678"), "application/json", PUBLIC);
+        cache.put("third", bytes("9012"), "application/json", PUBLIC);
+
+        assertNull(cache.get("first"));
+        assertEquals("1234", content(inUse));
+        inUse.close();
+        //Zero-copy sending may open the file after the entry was closed, so it outlives it for a while
+        assertTrue(Files.exists(inUse.getFile()));
+
+        cache.close();
+        assertFalse(Files.exists(inUse.getFile()));
+    }
+
+    @Test
+    public void leftoversOfEarlierRunsAreDeleted() throws IOException {
+        cache.put("first", bytes("1234"), "application/json", PUBLIC);
+        Path leftover;
+        try (ResponseCache.Entry entry = cache.get("first")) {
+            leftover = entry.getFile();
+        }
+        Path unrelated = Files.createFile(directory.resolve("unrelated.txt"));
+
+        new ResponseCache(directory, 10, Duration.ofMinutes(5));
+
+        assertFalse(Files.exists(leftover));
+        assertTrue(Files.exists(unrelated));
+        assertTrue(cache.put("second", bytes("5678"), "application/json", PUBLIC));
+        Files.delete(unrelated);
+    }
+
+    private static String content(ResponseCache.Entry entry) {
+        ByteBuffer content = entry.getContent();
+        byte[] cached = new byte[content.remaining()];
+        content.get(cached);
+        return new String(cached, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String content) {
+        return content.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,80 @@
+package io.leangen.graphql.spqr.spring.web;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import io.leangen.graphql.spqr.spring.autoconfigure.DocumentCache;
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight(Collections.singletonList("Authorization"), Collections.emptyList());
+
+    @Test
+    public void onlyPublicQueriesAreCoalesced() {
+        Map<String, String> headers = new HashMap<>();
+
+        assertNotNull(singleFlight.keyFor(new GraphQLRequest("{greeting}", null, null), headers::get));
+        assertNull(singleFlight.keyFor(new GraphQLRequest("mutation {greet}", null, null), headers::get));
+        assertNull(singleFlight.keyFor(new GraphQLRequest("query A {a} mutation B {b}", "B", null), headers::get));
+        assertNull(singleFlight.keyFor(new GraphQLRequest("subscription {ticks}", null, null), headers::get));
+
+        headers.put("Authorization", "Bearer token");
+        assertNull(singleFlight.keyFor(new GraphQLRequest("{greeting}", null, null), headers::get));
+    }
+
+    @Test
+    public void cachedDocumentsDecideTheOperationType() {
+        DocumentCache documentCache = new DocumentCache(10);
+        SingleFlight singleFlight = new SingleFlight(Collections.emptyList(), Collections.emptyList(), documentCache);
+        String query = "query A {mutation} mutation B {b}";
+        GraphQLRequest queryA = new GraphQLRequest(query, "A", null);
+
+        //Without a parsed document, the keyword alone rules coalescing out
+        assertNull(singleFlight.keyFor(queryA, header -> null));
+
+        documentCache.getDocument(ExecutionInput.newExecutionInput().query(query).build(),
+                input -> new PreparsedDocumentEntry(new Parser().parseDocument(input.getQuery())));
+        assertNotNull(singleFlight.keyFor(queryA, header -> null));
+        assertNull(singleFlight.keyFor(new GraphQLRequest(query, "B", null), header -> null));
+        assertNull(singleFlight.keyFor(new GraphQLRequest(query, null, null), header -> null));
+    }
+
+    @Test
+    public void followersShareTheLeadersOutcome() {
+        Object key = singleFlight.keyFor(new GraphQLRequest("{greeting}", null, null), header -> null);
+        CompletableFuture<String> execution = new CompletableFuture<>();
+        AtomicInteger executions = new AtomicInteger();
+
+        CompletableFuture<String> leader = singleFlight.execute(key, () -> {
+            executions.incrementAndGet();
+            return execution;
+        });
+        CompletableFuture<String> follower = singleFlight.execute(key, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        execution.complete("hello");
+
+        assertEquals("hello", leader.join());
+        assertEquals("hello", follower.join());
+        assertEquals(1, executions.get());
+        assertEquals(1, singleFlight.getLeaders());
+        assertEquals(1, singleFlight.getFollowers());
+
+        //The flight is over, so the next request leads a new one
+        singleFlight.execute(key, () -> CompletableFuture.completedFuture("again")).join();
+        assertEquals(2, singleFlight.getLeaders());
+    }
+}
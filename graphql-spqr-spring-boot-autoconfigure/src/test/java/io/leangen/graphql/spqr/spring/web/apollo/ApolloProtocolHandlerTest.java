@@ -0,0 +1,133 @@
+package io.leangen.graphql.spqr.spring.web.apollo;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import io.leangen.graphql.spqr.spring.web.servlet.websocket.GraphQLWebSocketExecutor;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import reactor.core.publisher.DirectProcessor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ApolloProtocolHandlerTest {
+
+    private static final TextMessage START = new TextMessage("{\"id\":\"1\",\"type\":\"start\",\"payload\":{\"query\":\"subscription {ticks}\"}}");
+
+    private final DirectProcessor<ExecutionResult> events = DirectProcessor.create();
+    private final GraphQLWebSocketExecutor executor = (graphQL, request, session) -> ExecutionResultImpl.newExecutionResult().data(events).build();
+    private final List<Runnable> flushes = new ArrayList<>();
+    private final ScheduledFuture<?> flushTask = mock(ScheduledFuture.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private final List<String> sent = new ArrayList<>();
+    private final WebSocketSession session = mock(WebSocketSession.class);
+
+    @Before
+    public void setUp() throws Exception {
+        doAnswer(invocation -> {
+            flushes.add(invocation.getArgument(0));
+            return flushTask;
+        }).when(taskScheduler).scheduleAtFixedRate(any(Runnable.class), anyLong());
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> sent.add(invocation.<TextMessage>getArgument(0).getPayload()))
+                .when(session).sendMessage(any());
+    }
+
+    @Test
+    public void onlyTheLatestEventIsSentPerWindow() throws Exception {
+        conflatingHandler().handleMessage(session, START);
+        assertEquals(1, flushes.size());
+
+        events.onNext(tick(1));
+        events.onNext(tick(2));
+        events.onNext(tick(3));
+        assertTrue(sent.isEmpty());
+
+        flush();
+        assertEquals(1, sent.size());
+        assertTrue(sent.get(0).contains("\"ticks\":3"));
+
+        //Nothing new, nothing sent
+        flush();
+        assertEquals(1, sent.size());
+
+        events.onNext(tick(4));
+        flush();
+        assertEquals(2, sent.size());
+        assertTrue(sent.get(1).contains("\"ticks\":4"));
+    }
+
+    @Test
+    public void pendingEventIsFlushedBeforeCompletion() throws Exception {
+        conflatingHandler().handleMessage(session, START);
+
+        events.onNext(tick(1));
+        events.onNext(tick(2));
+        events.onComplete();
+
+        assertEquals(2, sent.size());
+        assertTrue(sent.get(0).contains("\"ticks\":2"));
+        assertTrue(sent.get(1).contains("\"type\":\"complete\""));
+        verify(flushTask).cancel(false);
+    }
+
+    @Test
+    public void pendingEventIsFlushedBeforeError() throws Exception {
+        conflatingHandler().handleMessage(session, START);
+
+        events.onNext(tick(1));
+        events.onError(new IllegalStateException("Feed failed"));
+
+        assertEquals(2, sent.size());
+        assertTrue(sent.get(0).contains("\"ticks\":1"));
+        assertTrue(sent.get(1).contains("\"type\":\"error\""));
+        assertTrue(sent.get(1).contains("Feed failed"));
+        verify(flushTask).cancel(false);
+    }
+
+    @Test
+    public void sessionsAreDecoratedForConcurrentSends() throws Exception {
+        AtomicReference<WebSocketSession> executedWith = new AtomicReference<>();
+        GraphQLWebSocketExecutor executor = (graphQL, request, session) -> {
+            executedWith.set(session);
+            return ExecutionResultImpl.newExecutionResult().data(Collections.singletonMap("greeting", "Hello")).build();
+        };
+        PerConnectionApolloHandler handler = new PerConnectionApolloHandler(null, executor, null, false, 0, SubscriptionConflation.NONE);
+
+        handler.afterConnectionEstablished(session);
+        handler.handleMessage(session, START);
+
+        assertTrue(executedWith.get() instanceof ConcurrentWebSocketSessionDecorator);
+        assertEquals(2, sent.size());
+        assertTrue(sent.get(0).contains("\"greeting\":\"Hello\""));
+    }
+
+    private ApolloProtocolHandler conflatingHandler() {
+        return new ApolloProtocolHandler(null, executor, taskScheduler, false, 0,
+                new SubscriptionConflation(100, Collections.emptyMap()));
+    }
+
+    private void flush() {
+        flushes.forEach(Runnable::run);
+    }
+
+    private static ExecutionResult tick(int tick) {
+        return ExecutionResultImpl.newExecutionResult().data(Collections.singletonMap("ticks", tick)).build();
+    }
+}
@@ -0,0 +1,40 @@
+package io.leangen.graphql.spqr.spring.web.apollo;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.parser.Parser;
+import io.leangen.graphql.spqr.spring.autoconfigure.DocumentCache;
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+
+public class SubscriptionConflationTest {
+
+    private static final GraphQLRequest PRICES = new GraphQLRequest("subscription {latest: prices {value}}", null, null);
+
+    @Test
+    public void rootFieldsAreFoundInCachedDocuments() {
+        DocumentCache documentCache = new DocumentCache(10);
+        SubscriptionConflation conflation = new SubscriptionConflation(100, Collections.singletonMap("prices", 500L), documentCache);
+
+        //Not executed, so not parsed either
+        assertEquals(100, conflation.getWindowMillis(PRICES));
+
+        documentCache.getDocument(ExecutionInput.newExecutionInput().query(PRICES.getQuery()).build(),
+                input -> new PreparsedDocumentEntry(new Parser().parseDocument(input.getQuery())));
+        assertEquals(500, conflation.getWindowMillis(PRICES));
+        assertEquals(0, documentCache.getHits());
+    }
+
+    @Test
+    public void rootFieldsAreParsedWithoutDocumentCache() {
+        SubscriptionConflation conflation = new SubscriptionConflation(100, Collections.singletonMap("prices", 500L));
+
+        assertEquals(500, conflation.getWindowMillis(PRICES));
+        assertEquals(100, conflation.getWindowMillis(new GraphQLRequest("subscription {ticks}", null, null)));
+        assertEquals(100, conflation.getWindowMillis(new GraphQLRequest("subscription {", null, null)));
+    }
+}
@@ -1,11 +1,15 @@
 package io.leangen.graphql.spqr.spring.web.reactive;
 
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
 import io.leangen.graphql.spqr.spring.autoconfigure.BaseAutoConfiguration;
 import io.leangen.graphql.spqr.spring.autoconfigure.ReactiveAutoConfiguration;
 import io.leangen.graphql.spqr.spring.test.ResolverBuilder_TestReactiveConfig;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.reactivestreams.Publisher;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
@@ -17,10 +21,14 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.Flux;
+import reactor.util.context.Context;
 
 import java.net.URI;
+import java.util.Collections;
 
 import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 
 @RunWith(SpringRunner.class)
@@ -34,6 +42,9 @@ public class GraphQLReactiveControllerTest {
     @Autowired
     private ApplicationContext context;
 
+    @Autowired
+    private GraphQL graphQL;
+
     private WebTestClient webTestClient;
 
     @Value("${graphql.spqr.http.endpoint}")
@@ -74,4 +85,17 @@ public class GraphQLReactiveControllerTest {
                     assertThat("", c.getResponseBody(), containsString("Second Hello world !"));
                 });
     }
+
+    @Test
+    public void subscriptionFluxSeesSubscriberContext() {
+        ExecutionResult result = graphQL.execute(ExecutionInput.newExecutionInput()
+                .query("subscription {greetingFromSubscriberContextReactive_flux}")
+                .context(new WebFluxContext(null, Context.of("greeting", "Hello from context !")))
+                .build());
+
+        Publisher<ExecutionResult> events = result.getData();
+        ExecutionResult event = Flux.from(events).blockFirst();
+
+        assertEquals(Collections.singletonMap("greetingFromSubscriberContextReactive_flux", "Hello from context !"), event.getData());
+    }
 }
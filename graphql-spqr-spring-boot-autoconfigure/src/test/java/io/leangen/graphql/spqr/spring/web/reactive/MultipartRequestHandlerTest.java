@@ -0,0 +1,149 @@
+package io.leangen.graphql.spqr.spring.web.reactive;
+
+import io.leangen.graphql.annotations.GraphQLArgument;
+import io.leangen.graphql.annotations.GraphQLQuery;
+import io.leangen.graphql.spqr.spring.annotations.GraphQLApi;
+import io.leangen.graphql.spqr.spring.autoconfigure.BaseAutoConfiguration;
+import io.leangen.graphql.spqr.spring.autoconfigure.FileUploadAutoConfiguration;
+import io.leangen.graphql.spqr.spring.autoconfigure.ReactiveAutoConfiguration;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.client.MultipartBodyBuilder;
+import org.springframework.http.codec.multipart.FilePart;
+import org.springframework.stereotype.Component;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.BodyInserters;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@RunWith(SpringRunner.class)
+@WebFluxTest
+@ContextConfiguration(classes = {
+        BaseAutoConfiguration.class, ReactiveAutoConfiguration.class, FileUploadAutoConfiguration.class,
+        MultipartRequestHandlerTest.UploadConfig.class
+})
+@TestPropertySource(locations = "classpath:application.properties", properties = {
+        "graphql.spqr.multipart-upload.max-file-size=256",
+        "graphql.spqr.multipart-upload.max-parts=4"
+})
+public class MultipartRequestHandlerTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    private WebTestClient webTestClient;
+
+    @Value("${graphql.spqr.http.endpoint}")
+    private String apiContext;
+
+    @Before
+    public void setUp() {
+        webTestClient = WebTestClient.bindToApplicationContext(context).build();
+    }
+
+    @Test
+    public void filePartIsBound() {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("operations", "{\"query\": \"query Upload($file: FileUpload) { upload(file: $file) }\"}");
+        body.part("map", "{\"1\": [\"variables.file\"]}");
+        body.part("1", "content1".getBytes(StandardCharsets.UTF_8)).filename("1.txt");
+
+        post(body)
+                .expectStatus().isOk()
+                .expectBody().json("{\"data\":{\"upload\":\"content1\"}}");
+    }
+
+    @Test
+    public void filePartsAreBoundIntoLists() {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("operations", "{\"query\": \"query UploadFiles($files: [FileUpload]) { uploadFiles(files: $files) }\", \"variables\": {\"files\": [null]}}");
+        body.part("map", "{\"1\": [\"variables.files.0\"], \"2\": [\"variables.files.1\"]}");
+        body.part("1", "content1".getBytes(StandardCharsets.UTF_8)).filename("1.txt");
+        body.part("2", "content2".getBytes(StandardCharsets.UTF_8)).filename("2.txt");
+
+        post(body)
+                .expectStatus().isOk()
+                .expectBody().json("{\"data\":{\"uploadFiles\":[\"content1\",\"content2\"]}}");
+    }
+
+    @Test
+    public void invalidPathsAreRejected() {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("operations", "{\"query\": \"query Upload($file: FileUpload) { upload(file: $file) }\"}");
+        body.part("map", "{\"1\": [\"variables.input.file\"]}");
+        body.part("1", "content1".getBytes(StandardCharsets.UTF_8)).filename("1.txt");
+
+        post(body).expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void oversizedFilesAreRejected() {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("operations", "{\"query\": \"query Upload($file: FileUpload) { upload(file: $file) }\"}");
+        body.part("map", "{\"1\": [\"variables.file\"]}");
+        //Sent as a resource so it is streamed in chunks, the way large uploads arrive
+        body.part("1", new ByteArrayResource(new byte[64 * 1024])).filename("1.txt");
+
+        post(body).expectStatus().isBadRequest();
+    }
+
+    @Test
+    public void excessivePartsAreRejected() {
+        MultipartBodyBuilder body = new MultipartBodyBuilder();
+        body.part("operations", "{\"query\": \"query UploadFiles($files: [FileUpload]) { uploadFiles(files: $files) }\", \"variables\": {\"files\": []}}");
+        body.part("map", "{\"1\": [\"variables.files.0\"], \"2\": [\"variables.files.1\"], \"3\": [\"variables.files.2\"]}");
+        body.part("1", "content1".getBytes(StandardCharsets.UTF_8)).filename("1.txt");
+        body.part("2", "content2".getBytes(StandardCharsets.UTF_8)).filename("2.txt");
+        body.part("3", "content3".getBytes(StandardCharsets.UTF_8)).filename("3.txt");
+
+        post(body).expectStatus().isBadRequest();
+    }
+
+    private WebTestClient.ResponseSpec post(MultipartBodyBuilder body) {
+        return webTestClient.post()
+                .uri("/" + apiContext)
+                .body(BodyInserters.fromMultipartData(body.build()))
+                .exchange();
+    }
+
+    @Configuration
+    public static class UploadConfig {
+
+        @Component
+        @GraphQLApi
+        public static class UploadOperations {
+
+            @GraphQLQuery
+            public Mono<String> upload(@GraphQLArgument(name = "file") FilePart file) {
+                return read(file);
+            }
+
+            @GraphQLQuery
+            public Mono<List<String>> uploadFiles(@GraphQLArgument(name = "files") List<FilePart> files) {
+                return Flux.fromIterable(files).concatMap(UploadOperations::read).collectList();
+            }
+
+            private static Mono<String> read(FilePart file) {
+                return DataBufferUtils.join(file.content()).map(buffer -> {
+                    String content = buffer.toString(StandardCharsets.UTF_8);
+                    DataBufferUtils.release(buffer);
+                    return content;
+                });
+            }
+        }
+    }
+}
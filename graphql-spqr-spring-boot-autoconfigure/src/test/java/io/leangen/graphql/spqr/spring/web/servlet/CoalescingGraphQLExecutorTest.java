@@ -0,0 +1,97 @@
+package io.leangen.graphql.spqr.spring.web.servlet;
+
+import io.leangen.graphql.spqr.spring.web.RequestDeadline;
+import io.leangen.graphql.spqr.spring.web.SingleFlight;
+import io.leangen.graphql.spqr.spring.web.dto.GraphQLRequest;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CoalescingGraphQLExecutorTest {
+
+    private static final GraphQLRequest GREETING = new GraphQLRequest("{greeting}", null, null);
+
+    private final SingleFlight singleFlight = new SingleFlight(Collections.emptyList(), Collections.emptyList());
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CompletableFuture<Void> release = new CompletableFuture<>();
+    private final AtomicInteger executions = new AtomicInteger();
+    private final ExecutorService leaderThread = Executors.newSingleThreadExecutor();
+
+    private final GraphQLServletExecutor delegate = (graphQL, graphQLRequest, request) -> {
+        executions.incrementAndGet();
+        started.countDown();
+        release.join();
+        request.getNativeResponse(MockHttpServletResponse.class).setHeader(HttpHeaders.CACHE_CONTROL, "max-age=60, public");
+        return Collections.singletonMap("data", Collections.singletonMap("greeting", "Hello"));
+    };
+
+    @After
+    public void tearDown() {
+        release.complete(null);
+        leaderThread.shutdownNow();
+    }
+
+    @Test
+    public void followersShareTheLeadersOutcome() throws Exception {
+        CoalescingGraphQLExecutor executor = new CoalescingGraphQLExecutor(delegate, singleFlight, new RequestDeadline(0, 0, null));
+        Future<Object> leader = lead(executor);
+
+        MockHttpServletResponse followerResponse = new MockHttpServletResponse();
+        CompletableFuture<Object> follower = CompletableFuture.supplyAsync(() ->
+                executor.execute(null, GREETING, new ServletWebRequest(new MockHttpServletRequest(), followerResponse)));
+        while (singleFlight.getFollowers() == 0) {
+            Thread.sleep(5);
+        }
+        release.complete(null);
+
+        assertEquals(leader.get(5, TimeUnit.SECONDS), follower.get(5, TimeUnit.SECONDS));
+        assertEquals("max-age=60, public", followerResponse.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertEquals(1, executions.get());
+    }
+
+    @Test(timeout = 10000)
+    public void followersStopWaitingAtTheirDeadline() throws Exception {
+        CoalescingGraphQLExecutor executor = new CoalescingGraphQLExecutor(delegate, singleFlight, new RequestDeadline(100, 0, "X-Timeout"));
+        Future<Object> leader = lead(executor);
+
+        MockHttpServletRequest followerRequest = new MockHttpServletRequest();
+        followerRequest.addHeader("X-Timeout", "50");
+        try {
+            executor.execute(null, GREETING, new ServletWebRequest(followerRequest, new MockHttpServletResponse()));
+            fail("The follower waited past its deadline");
+        } catch (ResponseStatusException e) {
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatus());
+        }
+        assertEquals(1, singleFlight.getFollowers());
+
+        //The shared execution carries on for the leader
+        release.complete(null);
+        assertEquals(Collections.singletonMap("data", Collections.singletonMap("greeting", "Hello")), leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, executions.get());
+    }
+
+    private Future<Object> lead(CoalescingGraphQLExecutor executor) throws InterruptedException {
+        Future<Object> leader = leaderThread.submit(() ->
+                executor.execute(null, GREETING, new ServletWebRequest(new MockHttpServletRequest(), new MockHttpServletResponse())));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return leader;
+    }
+}
@@ -0,0 +1,106 @@
+package io.leangen.graphql.spqr.spring.web.servlet;
+
+import io.leangen.graphql.spqr.spring.autoconfigure.MvcAutoConfiguration;
+import io.leangen.graphql.spqr.spring.autoconfigure.SpqrProperties;
+import io.leangen.graphql.spqr.spring.web.ResponseCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.Filter;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseCacheFilterTest {
+
+    private static final String BODY = "{\"data\":{\"greeting\":\"Hello\"}}";
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private final HttpServlet endpoint = new HttpServlet() {
+        @Override
+        protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+            executions.incrementAndGet();
+            response.setContentType("application/json");
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "max-age=60, public");
+            response.getWriter().write(BODY);
+        }
+    };
+    private ResponseCache cache;
+    private List<FilterRegistrationBean<?>> registrations;
+
+    @Before
+    public void setUp() throws IOException {
+        cache = new ResponseCache(Files.createTempDirectory("response-cache-filter-test"), 1024, Duration.ofMinutes(5));
+        SpqrProperties config = new SpqrProperties();
+        MvcAutoConfiguration mvcConfig = new MvcAutoConfiguration();
+        registrations = Arrays.asList(mvcConfig.graphQLResponseCacheFilter(cache, config), mvcConfig.graphQLEtagFilter(config));
+        registrations.sort(Comparator.comparingInt(FilterRegistrationBean::getOrder));
+    }
+
+    @After
+    public void tearDown() {
+        cache.close();
+    }
+
+    @Test
+    public void etagsAndCachingWorkTogether() throws Exception {
+        MockHttpServletResponse first = get(null);
+        assertEquals(200, first.getStatus());
+        assertEquals(BODY, first.getContentAsString());
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        //The cache saw the body, not what was left after the ETag filter released it
+        assertTrue(cache.getSize() > 0);
+
+        MockHttpServletResponse cached = get(null);
+        assertEquals(200, cached.getStatus());
+        assertEquals(BODY, cached.getContentAsString());
+        assertEquals(etag, cached.getHeader(HttpHeaders.ETAG));
+
+        MockHttpServletResponse revalidated = get(etag);
+        assertEquals(304, revalidated.getStatus());
+        assertEquals("", revalidated.getContentAsString());
+
+        assertEquals(1, executions.get());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void cachingWorksWithoutEtags() throws Exception {
+        registrations = registrations.subList(1, 2);
+        assertEquals(BODY, get(null).getContentAsString());
+        MockHttpServletResponse cached = get(null);
+
+        assertEquals(BODY, cached.getContentAsString());
+        assertEquals(1, executions.get());
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/graphql");
+        request.setQueryString("query=%7Bgreeting%7D");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        Filter[] filters = registrations.stream().map(FilterRegistrationBean::getFilter).toArray(Filter[]::new);
+        new MockFilterChain(endpoint, filters).doFilter(request, response);
+        return response;
+    }
+}